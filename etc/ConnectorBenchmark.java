@@ -0,0 +1,69 @@
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the same authenticated GET many times, a fixed number at a time, once over HTTP/1.1 and
+ * once over cleartext HTTP/2, and prints the throughput and latencies of each.
+ *
+ * Like the UI, it logs in once with HTTP Basic and then sends the session cookie.
+ *
+ * Usage, with JDK 11 or later: java etc/ConnectorBenchmark.java [url] [requests] [parallel] [HTTP_1_1|HTTP_2]
+ */
+public class ConnectorBenchmark {
+	public static void main(String[] args) throws Exception {
+		URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/resolutions/stats");
+		int requests = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		int parallel = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+		HttpClient.Version[] versions = args.length > 3 ?
+				new HttpClient.Version[] { HttpClient.Version.valueOf(args[3]) } : HttpClient.Version.values();
+		for (HttpClient.Version version : versions) {
+			run(version, uri, Math.min(requests, 1000), parallel);
+			run(version, uri, requests, parallel);
+		}
+	}
+
+	static void run(HttpClient.Version version, URI uri, int requests, int parallel) throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(version).cookieHandler(new CookieManager()).build();
+		String credentials = Base64.getEncoder().encodeToString("user:password".getBytes());
+		HttpResponse<Void> login = client.send(HttpRequest.newBuilder(uri)
+				.header("Authorization", "Basic " + credentials).build(), HttpResponse.BodyHandlers.discarding());
+		if (login.statusCode() != 200) {
+			throw new IllegalStateException("Logging in responded with " + login.statusCode());
+		}
+
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		Semaphore permits = new Semaphore(parallel);
+		long[] latencies = new long[requests];
+		AtomicInteger failures = new AtomicInteger();
+		CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			int index = i;
+			permits.acquire();
+			long sent = System.nanoTime();
+			responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						latencies[index] = System.nanoTime() - sent;
+						if (error != null || response.statusCode() != 200 || response.version() != version) {
+							failures.incrementAndGet();
+						}
+						permits.release();
+					});
+		}
+		CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+		long elapsed = System.nanoTime() - start;
+
+		Arrays.sort(latencies);
+		System.out.printf("%-8s %6d requests in %6dms: %6d req/s, p50 %5.1fms, p99 %5.1fms, %d failed%n",
+				version, requests, elapsed / 1_000_000, requests * 1_000_000_000L / elapsed,
+				latencies[requests / 2] / 1e6, latencies[requests * 99 / 100] / 1e6, failures.get());
+	}
+}
@@ -0,0 +1,39 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@ConditionalOnProperty("resolutions.token-exchange.enabled")
+public class AccessTokenController {
+	private final AccessTokenIssuer issuer;
+
+	public AccessTokenController(AccessTokenIssuer issuer) {
+		this.issuer = issuer;
+	}
+
+	@PostMapping("/token")
+	public Map<String, Object> token(Authentication authentication) {
+		// an access token may not be used to get another, or it could be renewed forever
+		if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+			throw new AccessDeniedException("Access tokens are only issued for a password login");
+		}
+		OAuth2AccessToken token = this.issuer.issue(authentication);
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("access_token", token.getTokenValue());
+		response.put("token_type", token.getTokenType().getValue());
+		response.put("expires_in", Duration.between(token.getIssuedAt(), token.getExpiresAt()).getSeconds());
+		response.put("scope", StringUtils.collectionToDelimitedString(token.getScopes(), " "));
+		return response;
+	}
+}
@@ -0,0 +1,45 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTParser;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.Assert;
+
+import java.text.ParseException;
+
+/**
+ * A {@link JwtDecoder} that verifies the access tokens that {@link AccessTokenIssuer} signs
+ * and hands every other token to the issuer's decoder, when there is one.
+ *
+ * The two are told apart by the unverified {@code alg} header; each decoder still verifies
+ * the signature of the tokens it's given, so a forged header only chooses which key rejects the token.
+ */
+public class AccessTokenDecoder implements JwtDecoder {
+	private final JwtDecoder accessTokens;
+	private final JwtDecoder issuer;
+
+	public AccessTokenDecoder(JwtDecoder accessTokens, JwtDecoder issuer) {
+		Assert.notNull(accessTokens, "accessTokens cannot be null");
+		this.accessTokens = accessTokens;
+		this.issuer = issuer;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		if (this.issuer == null || isAccessToken(token)) {
+			return this.accessTokens.decode(token);
+		}
+		return this.issuer.decode(token);
+	}
+
+	private static boolean isAccessToken(String token) {
+		try {
+			return JWSAlgorithm.HS256.equals(JWTParser.parse(token).getHeader().getAlgorithm());
+		} catch (ParseException e) {
+			throw new BadJwtException("An error occurred while attempting to decode the Jwt: " + e.getMessage(), e);
+		}
+	}
+}
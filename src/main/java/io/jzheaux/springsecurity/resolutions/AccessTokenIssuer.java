@@ -0,0 +1,81 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.Assert;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Signs short-lived access tokens with the same HMAC key that this application verifies them with.
+ *
+ * A token carries the principal's name as {@code sub} and its authorities as {@code scope},
+ * so that verifying it needs neither the database nor the password encoder.
+ */
+public class AccessTokenIssuer {
+	private final JWSSigner signer;
+	private final JwtDecoder decoder;
+	private final Duration timeToLive;
+
+	private Clock clock = Clock.systemUTC();
+
+	public AccessTokenIssuer(SecretKey key, Duration timeToLive) {
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+		try {
+			this.signer = new MACSigner(key);
+		} catch (JOSEException e) {
+			throw new IllegalArgumentException("The HMAC key must be at least 256 bits", e);
+		}
+		this.decoder = NimbusJwtDecoder.withSecretKey(key).build();
+		this.timeToLive = timeToLive;
+	}
+
+	public OAuth2AccessToken issue(Authentication authentication) {
+		Instant issuedAt = Instant.now(this.clock).truncatedTo(ChronoUnit.SECONDS);
+		Instant expiresAt = issuedAt.plus(this.timeToLive);
+		Set<String> scopes = AuthorityUtils.authorityListToSet(authentication.getAuthorities());
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.subject(authentication.getName())
+				.issueTime(Date.from(issuedAt))
+				.expirationTime(Date.from(expiresAt))
+				.claim("scope", String.join(" ", scopes))
+				.build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+		try {
+			jwt.sign(this.signer);
+		} catch (JOSEException e) {
+			throw new IllegalStateException("Failed to sign the access token", e);
+		}
+		return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, jwt.serialize(), issuedAt, expiresAt, scopes);
+	}
+
+	/**
+	 * A decoder that accepts only the tokens this issuer signed.
+	 *
+	 * It isn't published as a bean, so that it doesn't compete with the issuer's {@link JwtDecoder}.
+	 */
+	public JwtDecoder decoder() {
+		return this.decoder;
+	}
+
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+}
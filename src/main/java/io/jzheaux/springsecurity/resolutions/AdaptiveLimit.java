@@ -0,0 +1,75 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A cap on in-flight requests that adapts to their latency, additive-increase/multiplicative-decrease style.
+ *
+ * Each request that completes within the latency threshold while the limit is at least half used grows the
+ * limit by {@code 1/limit}. A slower request shrinks it by 10%, at most once per threshold, so that one burst
+ * of slow requests doesn't collapse the limit to its minimum.
+ */
+public class AdaptiveLimit {
+	private static final double BACKOFF = 0.9;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final long thresholdNanos;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private volatile int limit;
+	private double estimate;
+	private long lastDecrease;
+
+	public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long thresholdNanos) {
+		if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.thresholdNanos = thresholdNanos;
+		this.limit = initialLimit;
+		this.estimate = initialLimit;
+		this.lastDecrease = System.nanoTime() - thresholdNanos;
+	}
+
+	/**
+	 * Admit a request if fewer than {@link #getLimit()} are in flight; each admitted request must be
+	 * followed by one call to {@link #release(long, long)}
+	 */
+	public boolean tryAcquire() {
+		for (;;) {
+			int current = this.inFlight.get();
+			if (current >= this.limit) {
+				return false;
+			}
+			if (this.inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	public void release(long startNanos, long endNanos) {
+		int inFlight = this.inFlight.getAndDecrement();
+		long latency = endNanos - startNanos;
+		synchronized (this) {
+			if (latency > this.thresholdNanos) {
+				if (endNanos - this.lastDecrease >= this.thresholdNanos) {
+					this.estimate = Math.max(this.minLimit, this.estimate * BACKOFF);
+					this.lastDecrease = endNanos;
+				}
+			} else if (inFlight * 2 >= this.limit) {
+				this.estimate = Math.min(this.maxLimit, this.estimate + 1 / this.estimate);
+			}
+			this.limit = (int) this.estimate;
+		}
+	}
+
+	public int getLimit() {
+		return this.limit;
+	}
+
+	public int getInFlight() {
+		return this.inFlight.get();
+	}
+}
@@ -0,0 +1,21 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty("resolutions.admission.enabled")
+public class AdmissionControlConfiguration {
+	@Bean
+	FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties properties, MeterRegistry meters) {
+		FilterRegistrationBean<AdmissionControlFilter> registration =
+				new FilterRegistrationBean<>(new AdmissionControlFilter(properties, meters));
+		// after preflights, which are cheap, but ahead of the security filter chain
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
@@ -0,0 +1,114 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caps in-flight requests for each group of endpoints with an {@link AdaptiveLimit}, answering
+ * {@code 503 Service Unavailable} with {@code Retry-After} once a group is at its limit.
+ *
+ * HTTP Basic requests, which pay for password hashing, share one group; every other request is grouped by
+ * whether it reads or writes.
+ *
+ * Place this filter ahead of Spring Security so that shed requests cost no password hashing or token
+ * verification.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+	private static final String BASIC = "Basic ";
+
+	private final List<String> exempt;
+	private final AntPathMatcher matcher = new AntPathMatcher();
+	private final UrlPathHelper paths = new UrlPathHelper();
+	private final String retryAfter;
+	private final Group authentication;
+	private final Group reads;
+	private final Group writes;
+
+	public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meters) {
+		this.exempt = new ArrayList<>(properties.getExempt());
+		this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().getSeconds()));
+		this.authentication = new Group("authentication", properties.getAuthentication(), meters);
+		this.reads = new Group("reads", properties.getReads(), meters);
+		this.writes = new Group("writes", properties.getWrites(), meters);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (isExempt(request)) {
+			chain.doFilter(request, response);
+			return;
+		}
+		Group group = group(request);
+		if (!group.limit.tryAcquire()) {
+			group.rejected.increment();
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, this.retryAfter);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			group.limit.release(start, System.nanoTime());
+		}
+	}
+
+	private boolean isExempt(HttpServletRequest request) {
+		String path = this.paths.getPathWithinApplication(request);
+		for (String pattern : this.exempt) {
+			if (this.matcher.match(pattern, path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Group group(HttpServletRequest request) {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization != null && authorization.regionMatches(true, 0, BASIC, 0, BASIC.length())) {
+			return this.authentication;
+		}
+		String method = request.getMethod();
+		if ("GET".equals(method) || "HEAD".equals(method)) {
+			return this.reads;
+		}
+		return this.writes;
+	}
+
+	private static class Group {
+		final AdaptiveLimit limit;
+		final Counter rejected;
+
+		Group(String name, AdmissionProperties.Group properties, MeterRegistry meters) {
+			this.limit = new AdaptiveLimit(properties.getInitialLimit(), properties.getMinLimit(),
+					properties.getMaxLimit(), properties.getLatencyThreshold().toNanos());
+			this.rejected = Counter.builder("resolutions.admission.rejected")
+					.description("Requests shed ahead of the security filter chain")
+					.tag("group", name)
+					.register(meters);
+			Gauge.builder("resolutions.admission.limit", this.limit, AdaptiveLimit::getLimit)
+					.description("How many requests may be in flight")
+					.tag("group", name)
+					.register(meters);
+			Gauge.builder("resolutions.admission.in-flight", this.limit, AdaptiveLimit::getInFlight)
+					.description("How many admitted requests haven't completed")
+					.tag("group", name)
+					.register(meters);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@ConfigurationProperties("resolutions.admission")
+public class AdmissionProperties {
+	/**
+	 * Whether to cap in-flight requests ahead of the security filter chain
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * What to send in {@code Retry-After} when a request is shed
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	/**
+	 * Paths that are always admitted, like health checks
+	 */
+	private List<String> exempt = new ArrayList<>(Arrays.asList("/actuator/health", "/actuator/health/**"));
+
+	/**
+	 * Requests that carry HTTP Basic credentials, and so pay for password hashing
+	 */
+	private Group authentication = new Group(8, 1, 64, Duration.ofMillis(500));
+
+	/**
+	 * Other {@code GET} and {@code HEAD} requests
+	 */
+	private Group reads = new Group(32, 4, 256, Duration.ofMillis(250));
+
+	/**
+	 * All other requests
+	 */
+	private Group writes = new Group(16, 2, 128, Duration.ofMillis(500));
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+	public void setRetryAfter(Duration retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+
+	public List<String> getExempt() {
+		return exempt;
+	}
+
+	public void setExempt(List<String> exempt) {
+		this.exempt = exempt;
+	}
+
+	public Group getAuthentication() {
+		return authentication;
+	}
+
+	public void setAuthentication(Group authentication) {
+		this.authentication = authentication;
+	}
+
+	public Group getReads() {
+		return reads;
+	}
+
+	public void setReads(Group reads) {
+		this.reads = reads;
+	}
+
+	public Group getWrites() {
+		return writes;
+	}
+
+	public void setWrites(Group writes) {
+		this.writes = writes;
+	}
+
+	public static class Group {
+		private int initialLimit;
+
+		private int minLimit;
+
+		private int maxLimit;
+
+		/**
+		 * Requests slower than this shrink the limit; faster ones let it grow
+		 */
+		private Duration latencyThreshold;
+
+		public Group() {
+		}
+
+		Group(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+			this.initialLimit = initialLimit;
+			this.minLimit = minLimit;
+			this.maxLimit = maxLimit;
+			this.latencyThreshold = latencyThreshold;
+		}
+
+		public int getInitialLimit() {
+			return initialLimit;
+		}
+
+		public void setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+		}
+
+		public int getMinLimit() {
+			return minLimit;
+		}
+
+		public void setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+		}
+
+		public int getMaxLimit() {
+			return maxLimit;
+		}
+
+		public void setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+		}
+
+		public Duration getLatencyThreshold() {
+			return latencyThreshold;
+		}
+
+		public void setLatencyThreshold(Duration latencyThreshold) {
+			this.latencyThreshold = latencyThreshold;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+	private AfterCommit() {
+	}
+
+	/**
+	 * Runs the action once the current transaction commits, or right away if there is no transaction
+	 */
+	static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
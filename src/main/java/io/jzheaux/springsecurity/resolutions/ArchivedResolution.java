@@ -0,0 +1,67 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A completed or deleted resolution that {@link ResolutionArchiver} moved out of the {@code resolution} table
+ */
+@Entity
+@Table(name="resolution_archive")
+public class ArchivedResolution {
+	@Id
+	private UUID id;
+
+	@Column
+	private String text;
+
+	@Column
+	private String owner;
+
+	@Column(nullable=false)
+	private Boolean completed;
+
+	@Column(nullable=false)
+	private boolean deleted;
+
+	@Column
+	private Instant modified;
+
+	@Column
+	private Instant archived;
+
+	protected ArchivedResolution() {
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public String getOwner() {
+		return owner;
+	}
+
+	public Boolean getCompleted() {
+		return completed;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public Instant getModified() {
+		return modified;
+	}
+
+	public Instant getArchived() {
+		return archived;
+	}
+}
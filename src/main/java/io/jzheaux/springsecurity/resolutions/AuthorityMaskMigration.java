@@ -0,0 +1,95 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * In compact mode, fills in {@code users.authority_mask} for users that were created before the column existed,
+ * and refuses to start when the {@code authorities} table holds authorities
+ * that {@link AuthorityRegistry} can't represent as bits.
+ *
+ * Nothing reads the mask otherwise, so without compact mode this does no work at startup.
+ */
+@Component
+@Lazy(false)
+public class AuthorityMaskMigration implements SmartInitializingSingleton {
+	private static final String UNMASKED_AUTHORITIES =
+			"SELECT a.username, a.authority FROM authorities a JOIN users u ON u.username = a.username " +
+			"WHERE u.authority_mask = 0";
+	private static final String UPDATE_MASK =
+			"UPDATE users SET authority_mask = ? WHERE username = ? AND authority_mask = 0";
+	private static final String AUTHORITIES = "SELECT DISTINCT authority FROM authorities";
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcTemplate jdbc;
+	private final AuthorityRegistry registry;
+	private final boolean compact;
+
+	@Autowired
+	public AuthorityMaskMigration(JdbcTemplate jdbc,
+			@Value("${resolutions.authorities.compact:false}") boolean compact) {
+		this(jdbc, AuthorityRegistry.DEFAULT, compact);
+	}
+
+	AuthorityMaskMigration(JdbcTemplate jdbc, AuthorityRegistry registry, boolean compact) {
+		this.jdbc = jdbc;
+		this.registry = registry;
+		this.compact = compact;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (this.compact) {
+			verify();
+			backfill();
+		}
+	}
+
+	/**
+	 * Fail if any granted authority is unregistered, since compact mode would silently drop it
+	 */
+	void verify() {
+		List<String> unregistered = this.jdbc.queryForList(AUTHORITIES, String.class).stream()
+				.filter(authority -> this.registry.mask(authority) == 0)
+				.collect(Collectors.toList());
+		if (!unregistered.isEmpty()) {
+			throw new IllegalStateException("resolutions.authorities.compact can't represent authorities " +
+					new TreeSet<>(unregistered) + " since they aren't registered in AuthorityRegistry");
+		}
+	}
+
+	/**
+	 * Compute the mask for every user whose mask is still {@code 0}
+	 *
+	 * @return the number of users updated
+	 */
+	int backfill() {
+		Map<String, Long> masks = new HashMap<>();
+		this.jdbc.query(UNMASKED_AUTHORITIES, rs -> {
+			masks.merge(rs.getString(1), this.registry.mask(rs.getString(2)), (a, b) -> a | b);
+		});
+		List<Object[]> updates = masks.entrySet().stream()
+				.filter(entry -> entry.getValue() != 0)
+				.map(entry -> new Object[] { entry.getValue(), entry.getKey() })
+				.collect(Collectors.toList());
+		if (updates.isEmpty()) {
+			return 0;
+		}
+		this.jdbc.batchUpdate(UPDATE_MASK, updates);
+		this.logger.info("Computed authority_mask for " + updates.size() + " existing users");
+		return updates.size();
+	}
+}
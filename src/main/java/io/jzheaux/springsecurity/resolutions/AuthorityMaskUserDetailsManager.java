@@ -0,0 +1,42 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * A {@link JdbcUserDetailsManager} that reads a user's authorities from the {@code authority_mask} column
+ * of the {@code users} table, authenticating with one query instead of two.
+ */
+public class AuthorityMaskUserDetailsManager extends JdbcUserDetailsManager {
+	static final String USER_BY_USERNAME_QUERY =
+			"select username,password,enabled,authority_mask from users where username = ?";
+
+	private final AuthorityRegistry registry;
+
+	public AuthorityMaskUserDetailsManager(DataSource dataSource, AuthorityRegistry registry) {
+		super(dataSource);
+		this.registry = registry;
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		List<UserDetails> users = getJdbcTemplate().query(USER_BY_USERNAME_QUERY, new String[] { username },
+				(rs, rowNum) -> new User(rs.getString(1), rs.getString(2), rs.getBoolean(3),
+						true, true, true, this.registry.authorities(rs.getLong(4))));
+		if (users.isEmpty()) {
+			throw new UsernameNotFoundException(this.messages.getMessage("JdbcDaoImpl.notFound",
+					new Object[] { username }, "Username {0} not found"));
+		}
+		UserDetails user = users.get(0);
+		if (user.getAuthorities().isEmpty()) {
+			throw new UsernameNotFoundException(this.messages.getMessage("JdbcDaoImpl.noAuthority",
+					new Object[] { username }, "User {0} has no GrantedAuthority"));
+		}
+		return user;
+	}
+}
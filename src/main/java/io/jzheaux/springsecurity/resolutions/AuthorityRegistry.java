@@ -0,0 +1,129 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The authorities that this application knows about, each assigned a bit in a {@code long} mask.
+ *
+ * Registered authorities have one canonical {@link GrantedAuthority} instance, and every mask maps to
+ * a single shared, immutable list of them. Other authorities are interned up to a fixed bound.
+ */
+public final class AuthorityRegistry {
+	public static final AuthorityRegistry DEFAULT =
+			new AuthorityRegistry("resolution:read", "resolution:write", "user:read");
+
+	private static final int MAX_AUTHORITIES = 16;
+	private static final int MAX_INTERNED = 1024;
+
+	private final Map<String, Integer> bits = new HashMap<>();
+	private final GrantedAuthority[] registered;
+	private final List<List<GrantedAuthority>> authoritiesByMask;
+	private final Map<String, GrantedAuthority> interned = new ConcurrentHashMap<>();
+
+	AuthorityRegistry(String... authorities) {
+		if (authorities.length > MAX_AUTHORITIES) {
+			throw new IllegalArgumentException("AuthorityRegistry supports at most " + MAX_AUTHORITIES + " authorities");
+		}
+		this.registered = new GrantedAuthority[authorities.length];
+		for (int bit = 0; bit < authorities.length; bit++) {
+			this.bits.put(authorities[bit], bit);
+			this.registered[bit] = new SimpleGrantedAuthority(authorities[bit]);
+		}
+
+		this.authoritiesByMask = new ArrayList<>(1 << authorities.length);
+		for (int mask = 0; mask < 1 << authorities.length; mask++) {
+			this.authoritiesByMask.add(Collections.unmodifiableList(granted(mask)));
+		}
+	}
+
+	/**
+	 * The bit for this authority, or {@code 0} if the authority isn't registered.
+	 *
+	 * A mask can't represent unregistered authorities, which is why compact mode refuses to start
+	 * when any user has one; see {@link AuthorityMaskMigration}.
+	 */
+	public long mask(String authority) {
+		Integer bit = this.bits.get(authority);
+		return bit == null ? 0 : 1L << bit;
+	}
+
+	public long mask(Collection<String> authorities) {
+		long mask = 0;
+		for (String authority : authorities) {
+			mask |= mask(authority);
+		}
+		return mask;
+	}
+
+	/**
+	 * The canonical instance for this authority
+	 */
+	public GrantedAuthority authority(String authority) {
+		Integer bit = this.bits.get(authority);
+		if (bit != null) {
+			return this.registered[bit];
+		}
+		GrantedAuthority interned = this.interned.get(authority);
+		if (interned != null) {
+			return interned;
+		}
+		GrantedAuthority granted = new SimpleGrantedAuthority(authority);
+		if (this.interned.size() >= MAX_INTERNED) {
+			return granted;
+		}
+		interned = this.interned.putIfAbsent(authority, granted);
+		return interned == null ? granted : interned;
+	}
+
+	public List<GrantedAuthority> authorities(long mask) {
+		if (mask < 0 || mask >= this.authoritiesByMask.size()) {
+			throw new IllegalArgumentException("Unknown authority mask " + mask);
+		}
+		return this.authoritiesByMask.get((int) mask);
+	}
+
+	public List<GrantedAuthority> authorities(Collection<String> authorities) {
+		long mask = 0;
+		Set<String> unregistered = null;
+		for (String authority : authorities) {
+			long bit = mask(authority);
+			if (bit != 0) {
+				mask |= bit;
+			} else {
+				if (unregistered == null) {
+					unregistered = new LinkedHashSet<>();
+				}
+				unregistered.add(authority);
+			}
+		}
+		if (unregistered == null) {
+			return authorities(mask);
+		}
+		List<GrantedAuthority> granted = granted(mask);
+		for (String authority : unregistered) {
+			granted.add(authority(authority));
+		}
+		return Collections.unmodifiableList(granted);
+	}
+
+	private List<GrantedAuthority> granted(long mask) {
+		List<GrantedAuthority> granted = new ArrayList<>(Long.bitCount(mask));
+		for (int bit = 0; bit < this.registered.length; bit++) {
+			if ((mask & (1L << bit)) != 0) {
+				granted.add(this.registered[bit]);
+			}
+		}
+		return granted;
+	}
+}
@@ -0,0 +1,109 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A concurrent map from keys, like usernames, to per-key state that holds at most {@code maximum} entries.
+ *
+ * When an insert finds the map full, it first forgets every entry that the caller says is reclaimable and then,
+ * if that didn't free a tenth of the map, the oldest entries until it has. Lookups never lock, and the sweep
+ * is paid for once per tenth of the map rather than once per insert.
+ */
+final class BoundedMap<V> {
+	private final int maximum;
+	private final int lowWater;
+	private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+	private final Queue<Entry<V>> oldestFirst = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final Object eviction = new Object();
+
+	BoundedMap(int maximum) {
+		if (maximum <= 0) {
+			throw new IllegalArgumentException("maximum must be positive");
+		}
+		this.maximum = maximum;
+		this.lowWater = maximum - Math.max(1, maximum / 10);
+	}
+
+	V get(String key) {
+		Entry<V> entry = this.entries.get(key);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * The value for this key, creating it if necessary
+	 *
+	 * @param reclaimable whether an existing value can be forgotten without changing behavior, should the map be full
+	 */
+	V computeIfAbsent(String key, Function<String, V> factory, Predicate<V> reclaimable) {
+		Entry<V> entry = this.entries.get(key);
+		if (entry != null) {
+			return entry.value;
+		}
+		if (this.entries.size() >= this.maximum) {
+			makeRoom(reclaimable);
+		}
+		Entry<V> created = new Entry<>(key, factory.apply(key));
+		entry = this.entries.putIfAbsent(key, created);
+		if (entry != null) {
+			return entry.value;
+		}
+		this.oldestFirst.add(created);
+		if (this.queued.incrementAndGet() > 2 * this.maximum) {
+			compact();
+		}
+		return created.value;
+	}
+
+	void remove(String key) {
+		this.entries.remove(key);
+	}
+
+	int size() {
+		return this.entries.size();
+	}
+
+	private void makeRoom(Predicate<V> reclaimable) {
+		synchronized (this.eviction) {
+			if (this.entries.size() < this.maximum) {
+				return;
+			}
+			this.entries.values().removeIf(entry -> reclaimable.test(entry.value));
+			while (this.entries.size() > this.lowWater) {
+				Entry<V> oldest = this.oldestFirst.poll();
+				if (oldest == null) {
+					break;
+				}
+				this.queued.decrementAndGet();
+				this.entries.remove(oldest.key, oldest);
+			}
+		}
+	}
+
+	// entries removed without being polled leave stale queue nodes behind
+	private void compact() {
+		synchronized (this.eviction) {
+			if (this.queued.get() <= 2 * this.maximum) {
+				return;
+			}
+			this.oldestFirst.removeIf(entry -> this.entries.get(entry.key) != entry);
+			this.queued.set(this.oldestFirst.size());
+		}
+	}
+
+	private static final class Entry<V> {
+		final String key;
+		final V value;
+
+		Entry(String key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link JwtDecoder} that remembers tokens that its delegate already verified,
+ * keyed by a SHA-256 hash of the token, until they expire.
+ *
+ * Time-based claims are re-validated on every cache hit.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+	private final JwtDecoder delegate;
+	private final int maximumSize;
+	private final Map<String, Jwt> cache = new ConcurrentHashMap<>();
+
+	private OAuth2TokenValidator<Jwt> validator = new JwtTimestampValidator();
+	private Clock clock = Clock.systemUTC();
+
+	public CachingJwtDecoder(JwtDecoder delegate, int maximumSize) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		this.delegate = delegate;
+		this.maximumSize = maximumSize;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		String key = hash(token);
+		Jwt cached = this.cache.get(key);
+		if (cached != null) {
+			if (!isExpired(cached)) {
+				validate(cached);
+				return cached;
+			}
+			this.cache.remove(key, cached);
+		}
+
+		Jwt jwt = this.delegate.decode(token);
+		if (jwt.getExpiresAt() != null) {
+			makeRoom();
+			this.cache.put(key, jwt);
+		}
+		return jwt;
+	}
+
+	public void setValidator(OAuth2TokenValidator<Jwt> validator) {
+		Assert.notNull(validator, "validator cannot be null");
+		this.validator = validator;
+	}
+
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	int size() {
+		return this.cache.size();
+	}
+
+	private void validate(Jwt jwt) {
+		OAuth2TokenValidatorResult result = this.validator.validate(jwt);
+		if (result.hasErrors()) {
+			String description = result.getErrors().iterator().next().getDescription();
+			throw new JwtValidationException(
+					String.format("An error occurred while attempting to decode the Jwt: %s", description),
+					result.getErrors());
+		}
+	}
+
+	private boolean isExpired(Jwt jwt) {
+		return !Instant.now(this.clock).isBefore(jwt.getExpiresAt());
+	}
+
+	private void makeRoom() {
+		if (this.cache.size() < this.maximumSize) {
+			return;
+		}
+		this.cache.values().removeIf(this::isExpired);
+		Iterator<String> keys = this.cache.keySet().iterator();
+		while (this.cache.size() >= this.maximumSize && keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hashed = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(hashed);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
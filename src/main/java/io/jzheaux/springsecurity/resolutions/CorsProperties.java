@@ -0,0 +1,94 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties("resolutions.cors")
+public class CorsProperties {
+	/**
+	 * Whether to answer CORS preflight requests ahead of the security filter chain
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * How long browsers may cache a preflight response
+	 */
+	private Duration maxAge = Duration.ofDays(1);
+
+	/**
+	 * The CORS policy for each path pattern, checked in order
+	 */
+	private Map<String, Policy> paths = new LinkedHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getMaxAge() {
+		return maxAge;
+	}
+
+	public void setMaxAge(Duration maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	public Map<String, Policy> getPaths() {
+		return paths;
+	}
+
+	public void setPaths(Map<String, Policy> paths) {
+		this.paths = paths;
+	}
+
+	public static class Policy {
+		private List<String> allowedOrigins = new ArrayList<>(Arrays.asList("http://localhost:4000"));
+
+		private List<String> allowedMethods = new ArrayList<>(Arrays.asList("GET", "POST", "PUT", "DELETE"));
+
+		private List<String> allowedHeaders = new ArrayList<>(Arrays.asList("Authorization", "Content-Type"));
+
+		private boolean allowCredentials = true;
+
+		public List<String> getAllowedOrigins() {
+			return allowedOrigins;
+		}
+
+		public void setAllowedOrigins(List<String> allowedOrigins) {
+			this.allowedOrigins = allowedOrigins;
+		}
+
+		public List<String> getAllowedMethods() {
+			return allowedMethods;
+		}
+
+		public void setAllowedMethods(List<String> allowedMethods) {
+			this.allowedMethods = allowedMethods;
+		}
+
+		public List<String> getAllowedHeaders() {
+			return allowedHeaders;
+		}
+
+		public void setAllowedHeaders(List<String> allowedHeaders) {
+			this.allowedHeaders = allowedHeaders;
+		}
+
+		public boolean isAllowCredentials() {
+			return allowCredentials;
+		}
+
+		public void setAllowCredentials(boolean allowCredentials) {
+			this.allowCredentials = allowCredentials;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a reproducible synthetic dataset for performance environments.
+ *
+ * Resolutions are assigned to owners following a Zipf distribution, so a few users own most of them.
+ * Each was last modified at some point in the year after {@link #MODIFIED_FROM}, so that the same seed gives
+ * the same timestamps, and every row is old enough for {@link ResolutionArchiver} to consider.
+ */
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements ApplicationRunner {
+	private static final String PASSWORD = "{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W";
+
+	static final Instant MODIFIED_FROM = Instant.parse("2020-01-01T00:00:00Z");
+	static final Duration MODIFIED_SPAN = Duration.ofDays(365);
+
+	private static final String[] VERBS = { "Read", "Learn", "Visit", "Cook", "Run", "Write", "Climb", "Paint", "Build", "Practice" };
+	private static final String[] OBJECTS = { "War and Peace", "Spanish", "Paris", "a souffle", "a marathon",
+			"a novel", "Kilimanjaro", "a portrait", "a treehouse", "the piano", "Christmas Lights", "the Eiffel Tower" };
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ResolutionBatchWriter writer;
+	private final DatasetProperties properties;
+	private final int batchSize;
+
+	public DatasetGenerator(ResolutionBatchWriter writer, DatasetProperties properties, SeedProperties seed) {
+		this.writer = writer;
+		this.properties = properties;
+		this.batchSize = seed.getBatchSize();
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long start = System.currentTimeMillis();
+		SplittableRandom random = new SplittableRandom(this.properties.getSeed());
+		String[] usernames = generateUsers(random);
+		generateResolutions(random, usernames);
+		this.logger.info("Generated " + usernames.length + " users and " + this.properties.getResolutions() +
+				" resolutions from seed " + this.properties.getSeed() + " in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private String[] generateUsers(SplittableRandom random) {
+		String[] usernames = new String[this.properties.getUsers()];
+		List<User> users = new ArrayList<>(this.batchSize);
+		for (int i = 0; i < usernames.length; i++) {
+			usernames[i] = this.properties.getUsernamePrefix() + i;
+			User user = new User(usernames[i], PASSWORD);
+			user.setId(uuid(random));
+			user.grantAuthority("resolution:read");
+			if (random.nextDouble() < this.properties.getWriterRatio()) {
+				user.grantAuthority("resolution:write");
+			}
+			for (UserAuthority authority : user.userAuthorities) {
+				authority.id = uuid(random);
+			}
+			users.add(user);
+			if (users.size() == this.batchSize) {
+				this.writer.write(users, Collections.emptyList());
+				users.clear();
+			}
+		}
+		this.writer.write(users, Collections.emptyList());
+		return usernames;
+	}
+
+	private void generateResolutions(SplittableRandom random, String[] usernames) {
+		if (usernames.length == 0) {
+			return;
+		}
+		ZipfDistribution owners = new ZipfDistribution(usernames.length, this.properties.getSkew());
+		List<Resolution> resolutions = new ArrayList<>(this.batchSize);
+		for (int i = 0; i < this.properties.getResolutions(); i++) {
+			String text = VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)];
+			Resolution resolution = new Resolution(text, usernames[owners.sample(random)]);
+			resolution.setId(uuid(random));
+			resolution.setCompleted(random.nextDouble() < this.properties.getCompletedRatio());
+			resolution.setModified(modified(random));
+			resolutions.add(resolution);
+			if (resolutions.size() == this.batchSize) {
+				this.writer.write(Collections.emptyList(), resolutions);
+				resolutions.clear();
+			}
+		}
+		this.writer.write(Collections.emptyList(), resolutions);
+	}
+
+	static Instant modified(SplittableRandom random) {
+		return MODIFIED_FROM.plusSeconds(random.nextLong(MODIFIED_SPAN.getSeconds()));
+	}
+
+	private static UUID uuid(SplittableRandom random) {
+		long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+		long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+		return new UUID(most, least);
+	}
+
+	static class ZipfDistribution {
+		private final double[] cumulative;
+
+		ZipfDistribution(int size, double exponent) {
+			this.cumulative = new double[size];
+			double total = 0;
+			for (int rank = 0; rank < size; rank++) {
+				total += 1 / Math.pow(rank + 1, exponent);
+				this.cumulative[rank] = total;
+			}
+			for (int rank = 0; rank < size; rank++) {
+				this.cumulative[rank] /= total;
+			}
+		}
+
+		int sample(SplittableRandom random) {
+			int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+			int rank = index >= 0 ? index : -index - 1;
+			return Math.min(rank, this.cumulative.length - 1);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("resolutions.dataset")
+public class DatasetProperties {
+	/**
+	 * The random seed; the same seed and settings always generate the same rows
+	 */
+	private long seed = 0;
+
+	/**
+	 * How many users to generate
+	 */
+	private int users = 10000;
+
+	/**
+	 * How many resolutions to generate across all users
+	 */
+	private int resolutions = 1000000;
+
+	/**
+	 * The Zipf exponent for choosing each resolution's owner; 0 spreads resolutions evenly
+	 */
+	private double skew = 1.0;
+
+	/**
+	 * The fraction of users granted {@code resolution:write} in addition to {@code resolution:read}
+	 */
+	private double writerRatio = 0.5;
+
+	/**
+	 * The fraction of resolutions that are completed
+	 */
+	private double completedRatio = 0.3;
+
+	/**
+	 * The prefix for generated usernames
+	 */
+	private String usernamePrefix = "member";
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public int getUsers() {
+		return users;
+	}
+
+	public void setUsers(int users) {
+		this.users = users;
+	}
+
+	public int getResolutions() {
+		return resolutions;
+	}
+
+	public void setResolutions(int resolutions) {
+		this.resolutions = resolutions;
+	}
+
+	public double getSkew() {
+		return skew;
+	}
+
+	public void setSkew(double skew) {
+		this.skew = skew;
+	}
+
+	public double getWriterRatio() {
+		return writerRatio;
+	}
+
+	public void setWriterRatio(double writerRatio) {
+		this.writerRatio = writerRatio;
+	}
+
+	public double getCompletedRatio() {
+		return completedRatio;
+	}
+
+	public void setCompletedRatio(double completedRatio) {
+		this.completedRatio = completedRatio;
+	}
+
+	public String getUsernamePrefix() {
+		return usernamePrefix;
+	}
+
+	public void setUsernamePrefix(String usernamePrefix) {
+		this.usernamePrefix = usernamePrefix;
+	}
+}
@@ -0,0 +1,41 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.util.Assert;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Answers {@code 503 Service Unavailable} with {@code Retry-After} when a bearer token couldn't be verified
+ * because the decoder isn't available yet, instead of telling the client that its token is invalid.
+ *
+ * Every other failure goes to the delegate.
+ */
+public class DecoderUnavailableEntryPoint implements AuthenticationEntryPoint {
+	private final AuthenticationEntryPoint delegate;
+
+	public DecoderUnavailableEntryPoint(AuthenticationEntryPoint delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void commence(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException exception) throws IOException, ServletException {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof JwtDecoderUnavailableException) {
+				long seconds = Math.max(1, ((JwtDecoderUnavailableException) cause).getRetryAfter().getSeconds());
+				response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+				response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+				return;
+			}
+		}
+		this.delegate.commence(request, response, exception);
+	}
+}
@@ -0,0 +1,34 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps metrics beans eager when {@code spring.main.lazy-initialization} is on;
+ * otherwise meters like the connection pool's are never bound.
+ */
+@Component
+public class EagerMetricsPostProcessor implements BeanFactoryPostProcessor {
+	private static final String METRICS_CONFIGURATION = "org.springframework.boot.actuate.autoconfigure.metrics";
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		for (String name : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition definition = beanFactory.getBeanDefinition(name);
+			String type = definition.getBeanClassName();
+			if (type == null && definition.getFactoryBeanName() != null &&
+					beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+				type = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+			}
+			if (type != null && type.startsWith(METRICS_CONFIGURATION)) {
+				definition.setLazyInit(false);
+			}
+		}
+		for (String name : beanFactory.getBeanNamesForType(MeterBinder.class, true, false)) {
+			beanFactory.getBeanDefinition(name).setLazyInit(false);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the times of the most recent failed logins for each key, like a username or an address,
+ * so that a key can be turned away once it has failed {@code maxFailures} times within {@code window}.
+ *
+ * Each key keeps at most {@code maxFailures} timestamps, and at most {@code maximumKeys} keys are
+ * tracked in a {@link BoundedMap}; when full, keys whose failures have all aged out are forgotten first,
+ * and then the keys that started failing longest ago. An attacker spraying new usernames must therefore
+ * cycle through {@code maximumKeys} of them to reset any one username's failures, rather than getting lucky.
+ */
+class FailedLoginTracker {
+	private final int maxFailures;
+	private final long window;
+	private final BoundedMap<Failures> failures;
+	private final LongSupplier nanoTime;
+
+	FailedLoginTracker(int maxFailures, long window, int maximumKeys, LongSupplier nanoTime) {
+		this.maxFailures = maxFailures;
+		this.window = window;
+		this.failures = new BoundedMap<>(maximumKeys);
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * @return {@code 0} if this key may try to log in, otherwise how many nanoseconds until it may
+	 */
+	long blockedFor(String key) {
+		Failures failures = this.failures.get(key);
+		return failures == null ? 0 : failures.blockedFor(this.nanoTime.getAsLong());
+	}
+
+	void failed(String key) {
+		long now = this.nanoTime.getAsLong();
+		this.failures.computeIfAbsent(key, k -> new Failures(), f -> f.isExpired(now)).add(now);
+	}
+
+	void succeeded(String key) {
+		this.failures.remove(key);
+	}
+
+	private class Failures {
+		private final long[] times = new long[FailedLoginTracker.this.maxFailures];
+		private int next;
+		private int count;
+
+		synchronized void add(long now) {
+			this.times[this.next] = now;
+			this.next = (this.next + 1) % this.times.length;
+			this.count = Math.min(this.count + 1, this.times.length);
+		}
+
+		synchronized long blockedFor(long now) {
+			if (this.count < this.times.length) {
+				return 0;
+			}
+			long oldest = this.times[this.next];
+			return Math.max(0, oldest + FailedLoginTracker.this.window - now);
+		}
+
+		synchronized boolean isExpired(long now) {
+			int newest = (this.next + this.times.length - 1) % this.times.length;
+			return this.count == 0 || this.times[newest] + FailedLoginTracker.this.window <= now;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Maps a JWT's {@code scope} or {@code scp} claim to the {@link AuthorityRegistry}'s canonical authorities,
+ * without a {@code SCOPE_} prefix.
+ */
+public class InternedJwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+	private final AuthorityRegistry registry;
+
+	public InternedJwtGrantedAuthoritiesConverter(AuthorityRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public Collection<GrantedAuthority> convert(Jwt jwt) {
+		return this.registry.authorities(scopes(jwt));
+	}
+
+	private Collection<String> scopes(Jwt jwt) {
+		Object scopes = jwt.getClaims().get("scope");
+		if (scopes == null) {
+			scopes = jwt.getClaims().get("scp");
+		}
+		if (scopes instanceof String) {
+			return Arrays.asList(StringUtils.delimitedListToStringArray((String) scopes, " "));
+		}
+		if (scopes instanceof Collection) {
+			return ((Collection<?>) scopes).stream().map(String::valueOf).collect(Collectors.toList());
+		}
+		return Collections.emptyList();
+	}
+}
@@ -0,0 +1,25 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a token can't be verified yet because the {@link org.springframework.security.oauth2.jwt.JwtDecoder}
+ * isn't available, so the token itself may well be valid
+ */
+public class JwtDecoderUnavailableException extends JwtException {
+	private final Duration retryAfter;
+
+	public JwtDecoderUnavailableException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * How long to wait before trying again
+	 */
+	public Duration getRetryAfter() {
+		return this.retryAfter;
+	}
+}
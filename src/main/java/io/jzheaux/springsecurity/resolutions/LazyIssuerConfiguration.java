@@ -0,0 +1,49 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty({
+		"spring.security.oauth2.resourceserver.jwt.issuer-uri",
+		"resolutions.jwt.lazy-discovery.enabled" })
+public class LazyIssuerConfiguration {
+	private final LazyJwtDecoder decoder;
+
+	public LazyIssuerConfiguration(OAuth2ResourceServerProperties properties,
+			@Value("${resolutions.jwt.lazy-discovery.max-attempts:3}") int maxAttempts,
+			@Value("${resolutions.jwt.lazy-discovery.backoff:1s}") Duration backoff) {
+		String issuerUri = properties.getJwt().getIssuerUri();
+		this.decoder = new LazyJwtDecoder(() -> JwtDecoders.fromIssuerLocation(issuerUri), maxAttempts, backoff);
+	}
+
+	@Bean
+	JwtDecoder lazyJwtDecoder() {
+		return this.decoder;
+	}
+
+	/**
+	 * Keep the application out of service until the issuer is discovered, so that it isn't sent bearer requests
+	 * that it can't verify
+	 */
+	@Bean
+	HealthIndicator jwtDecoderHealthIndicator() {
+		return () -> this.decoder.isAvailable() ? Health.up().build() : Health.outOfService().build();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	void warmUp() {
+		this.decoder.warmUp();
+	}
+}
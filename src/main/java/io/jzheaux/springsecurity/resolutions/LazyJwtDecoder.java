@@ -0,0 +1,142 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A {@link JwtDecoder} that defers constructing its delegate, for example issuer discovery, until first use.
+ *
+ * Construction runs in the background and is attempted a bounded number of times; until it succeeds,
+ * callers fail fast with a {@link JwtDecoderUnavailableException} instead of waiting on it. After the last
+ * failed attempt, construction isn't tried again until the backoff elapses.
+ */
+public class LazyJwtDecoder implements JwtDecoder {
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Supplier<JwtDecoder> factory;
+	private final int maxAttempts;
+	private final Duration backoff;
+	private final AtomicBoolean constructing = new AtomicBoolean();
+
+	private Clock clock = Clock.systemUTC();
+	private Executor executor = runnable -> {
+		Thread thread = new Thread(runnable, "jwt-decoder-discovery");
+		thread.setDaemon(true);
+		thread.start();
+	};
+
+	private volatile JwtDecoder delegate;
+	private volatile Instant nextAttempt = Instant.MIN;
+
+	public LazyJwtDecoder(Supplier<JwtDecoder> factory, int maxAttempts, Duration backoff) {
+		Assert.notNull(factory, "factory cannot be null");
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive");
+		Assert.notNull(backoff, "backoff cannot be null");
+		this.factory = factory;
+		this.maxAttempts = maxAttempts;
+		this.backoff = backoff;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		return delegate().decode(token);
+	}
+
+	/**
+	 * Whether the delegate has been constructed, and so tokens can be verified
+	 */
+	public boolean isAvailable() {
+		return this.delegate != null;
+	}
+
+	/**
+	 * Start constructing the delegate ahead of the first request
+	 */
+	public void warmUp() {
+		construct();
+	}
+
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Use this {@link Executor} to construct the delegate; by default, each construction gets its own daemon thread
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor cannot be null");
+		this.executor = executor;
+	}
+
+	private JwtDecoder delegate() {
+		JwtDecoder delegate = this.delegate;
+		if (delegate != null) {
+			return delegate;
+		}
+		construct();
+		delegate = this.delegate;
+		if (delegate != null) {
+			return delegate;
+		}
+		Instant now = Instant.now(this.clock);
+		Instant nextAttempt = this.nextAttempt;
+		if (now.isBefore(nextAttempt)) {
+			throw new JwtDecoderUnavailableException("JwtDecoder is not yet available; retrying after " + nextAttempt,
+					Duration.between(now, nextAttempt));
+		}
+		throw new JwtDecoderUnavailableException("JwtDecoder is not yet available", this.backoff);
+	}
+
+	private void construct() {
+		if (this.delegate != null || Instant.now(this.clock).isBefore(this.nextAttempt)) {
+			return;
+		}
+		if (!this.constructing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.executor.execute(this::attempt);
+		} catch (RuntimeException e) {
+			this.constructing.set(false);
+			this.logger.warn("Failed to schedule JwtDecoder construction", e);
+		}
+	}
+
+	private void attempt() {
+		try {
+			for (int attempt = 1; attempt <= this.maxAttempts; attempt++) {
+				try {
+					this.delegate = this.factory.get();
+					return;
+				} catch (RuntimeException e) {
+					if (attempt == this.maxAttempts) {
+						this.logger.warn("Failed to construct JwtDecoder after " + attempt + " attempts", e);
+					} else {
+						this.logger.debug("Attempt " + attempt + " to construct JwtDecoder failed", e);
+						Thread.sleep(this.backoff.multipliedBy(attempt).toMillis());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.logger.warn("Interrupted while constructing JwtDecoder", e);
+		} finally {
+			if (this.delegate == null) {
+				this.nextAttempt = Instant.now(this.clock).plus(this.backoff);
+			}
+			this.constructing.set(false);
+		}
+	}
+}
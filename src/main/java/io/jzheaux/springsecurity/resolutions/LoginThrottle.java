@@ -0,0 +1,82 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks failed logins by username and by client address, as reported by authentication events,
+ * so that {@link LoginThrottleFilter} can turn away further attempts before they reach the password encoder.
+ *
+ * A successful login clears its username's failures, but not its address's.
+ */
+public class LoginThrottle {
+	private final FailedLoginTracker usernames;
+	private final FailedLoginTracker addresses;
+	private final Counter rejectedUsernames;
+	private final Counter rejectedAddresses;
+
+	public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meters) {
+		this(properties, meters, System::nanoTime);
+	}
+
+	LoginThrottle(LoginThrottleProperties properties, MeterRegistry meters, LongSupplier nanoTime) {
+		long window = properties.getWindow().toNanos();
+		this.usernames = new FailedLoginTracker(properties.getMaxFailuresPerUsername(), window,
+				properties.getMaximumKeys(), nanoTime);
+		this.addresses = new FailedLoginTracker(properties.getMaxFailuresPerAddress(), window,
+				properties.getMaximumKeys(), nanoTime);
+		this.rejectedUsernames = counter(meters, "username");
+		this.rejectedAddresses = counter(meters, "address");
+	}
+
+	/**
+	 * @return {@code 0} if this login may be attempted, otherwise how many nanoseconds until it may
+	 */
+	public long blockedFor(String username, String address) {
+		long wait = this.addresses.blockedFor(address);
+		if (wait > 0) {
+			this.rejectedAddresses.increment();
+			return wait;
+		}
+		wait = this.usernames.blockedFor(username);
+		if (wait > 0) {
+			this.rejectedUsernames.increment();
+		}
+		return wait;
+	}
+
+	@EventListener
+	public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+		Authentication authentication = event.getAuthentication();
+		this.usernames.failed(authentication.getName());
+		String address = address(authentication);
+		if (address != null) {
+			this.addresses.failed(address);
+		}
+	}
+
+	@EventListener
+	public void onSuccess(AuthenticationSuccessEvent event) {
+		this.usernames.succeeded(event.getAuthentication().getName());
+	}
+
+	private static String address(Authentication authentication) {
+		Object details = authentication.getDetails();
+		return details instanceof WebAuthenticationDetails ?
+				((WebAuthenticationDetails) details).getRemoteAddress() : null;
+	}
+
+	private static Counter counter(MeterRegistry meters, String key) {
+		return Counter.builder("resolutions.login-throttle.rejected")
+				.description("HTTP Basic logins turned away before checking the password")
+				.tag("key", key)
+				.register(meters);
+	}
+}
@@ -0,0 +1,15 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty("resolutions.login-throttle.enabled")
+public class LoginThrottleConfiguration {
+	@Bean
+	LoginThrottle loginThrottle(LoginThrottleProperties properties, MeterRegistry meters) {
+		return new LoginThrottle(properties, meters);
+	}
+}
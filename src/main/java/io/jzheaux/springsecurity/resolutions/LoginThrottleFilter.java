@@ -0,0 +1,61 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers {@code 429 Too Many Requests} for HTTP Basic logins whose username or client address has failed
+ * too often lately, before any user lookup or password hashing.
+ *
+ * Place this filter just ahead of {@link org.springframework.security.web.authentication.www.BasicAuthenticationFilter};
+ * malformed credentials pass through for it to reject.
+ */
+public class LoginThrottleFilter extends OncePerRequestFilter {
+	private final LoginThrottle throttle;
+
+	public LoginThrottleFilter(LoginThrottle throttle) {
+		this.throttle = throttle;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String username = username(request.getHeader(HttpHeaders.AUTHORIZATION));
+		if (username == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long wait = this.throttle.blockedFor(username, request.getRemoteAddr());
+		if (wait > 0) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER,
+					String.valueOf(TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+
+	private static String username(String authorization) {
+		if (authorization == null || !authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+			return null;
+		}
+		try {
+			String credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()),
+					StandardCharsets.UTF_8);
+			int colon = credentials.indexOf(':');
+			return colon == -1 ? null : credentials.substring(0, colon);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
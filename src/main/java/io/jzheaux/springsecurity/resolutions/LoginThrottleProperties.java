@@ -0,0 +1,73 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("resolutions.login-throttle")
+public class LoginThrottleProperties {
+	/**
+	 * Whether to turn away HTTP Basic logins for usernames and addresses with too many recent failures
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * How far back to count failed logins
+	 */
+	private Duration window = Duration.ofMinutes(15);
+
+	/**
+	 * How many failed logins a username may have within the window
+	 */
+	private int maxFailuresPerUsername = 5;
+
+	/**
+	 * How many failed logins a client address may have within the window, across all usernames
+	 */
+	private int maxFailuresPerAddress = 20;
+
+	/**
+	 * How many usernames, and separately how many addresses, to track
+	 */
+	private int maximumKeys = 10000;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getWindow() {
+		return window;
+	}
+
+	public void setWindow(Duration window) {
+		this.window = window;
+	}
+
+	public int getMaxFailuresPerUsername() {
+		return maxFailuresPerUsername;
+	}
+
+	public void setMaxFailuresPerUsername(int maxFailuresPerUsername) {
+		this.maxFailuresPerUsername = maxFailuresPerUsername;
+	}
+
+	public int getMaxFailuresPerAddress() {
+		return maxFailuresPerAddress;
+	}
+
+	public void setMaxFailuresPerAddress(int maxFailuresPerAddress) {
+		this.maxFailuresPerAddress = maxFailuresPerAddress;
+	}
+
+	public int getMaximumKeys() {
+		return maximumKeys;
+	}
+
+	public void setMaximumKeys(int maximumKeys) {
+		this.maximumKeys = maximumKeys;
+	}
+}
@@ -0,0 +1,35 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes new passwords with {@code resolutions.passwords.encoding-id}.
+ *
+ * Since {@link UserRepositoryPasswordService} is registered, a successful login whose stored password
+ * uses another algorithm, or a lower bcrypt cost, is re-encoded with the target one.
+ */
+@Configuration
+public class PasswordConfiguration {
+	@Bean
+	@SuppressWarnings("deprecation")
+	PasswordEncoder passwordEncoder(PasswordProperties properties) {
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put("bcrypt", new BCryptPasswordEncoder(properties.getBcryptStrength()));
+		encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+		encoders.put("scrypt", new SCryptPasswordEncoder());
+		encoders.put("argon2", new Argon2PasswordEncoder());
+		encoders.put("noop", NoOpPasswordEncoder.getInstance());
+		return new DelegatingPasswordEncoder(properties.getEncodingId(), encoders);
+	}
+}
@@ -0,0 +1,53 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long verifying a bcrypt password takes on this host at each cost, and prints the
+ * highest cost whose median verification stays within a target, 250ms unless given in milliseconds
+ * as the first argument.
+ *
+ * Run it on the same kind of host that serves logins, since the time doubles with each cost.
+ */
+public final class PasswordCostCalibrator {
+	private static final int MIN_STRENGTH = 4;
+	private static final int MAX_STRENGTH = 31;
+	private static final int SAMPLES = 5;
+
+	private PasswordCostCalibrator() {
+	}
+
+	public static void main(String[] args) {
+		long target = args.length > 0 ? Long.parseLong(args[0]) : 250;
+		verify(new BCryptPasswordEncoder(MIN_STRENGTH), 100);
+
+		int chosen = MIN_STRENGTH;
+		for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+			long millis = verify(new BCryptPasswordEncoder(strength), SAMPLES);
+			System.out.printf("bcrypt strength %2d: %5dms%n", strength, millis);
+			if (millis > target) {
+				break;
+			}
+			chosen = strength;
+		}
+		System.out.println();
+		System.out.println("resolutions.passwords.bcrypt-strength=" + chosen);
+	}
+
+	/**
+	 * The median milliseconds that verifying a password takes
+	 */
+	static long verify(BCryptPasswordEncoder encoder, int samples) {
+		String encoded = encoder.encode("password");
+		long[] millis = new long[samples];
+		for (int i = 0; i < samples; i++) {
+			long start = System.nanoTime();
+			encoder.matches("password", encoded);
+			millis[i] = (System.nanoTime() - start) / 1_000_000;
+		}
+		Arrays.sort(millis);
+		return millis[samples / 2];
+	}
+}
@@ -0,0 +1,32 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("resolutions.passwords")
+public class PasswordProperties {
+	/**
+	 * The algorithm to encode new passwords with, and to upgrade existing ones to on login
+	 */
+	private String encodingId = "bcrypt";
+
+	/**
+	 * The bcrypt cost; see {@link PasswordCostCalibrator} for choosing one
+	 */
+	private int bcryptStrength = 10;
+
+	public String getEncodingId() {
+		return encodingId;
+	}
+
+	public void setEncodingId(String encodingId) {
+		this.encodingId = encodingId;
+	}
+
+	public int getBcryptStrength() {
+		return bcryptStrength;
+	}
+
+	public void setBcryptStrength(int bcryptStrength) {
+		this.bcryptStrength = bcryptStrength;
+	}
+}
@@ -0,0 +1,47 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty("resolutions.cors.enabled")
+public class PreflightCorsConfiguration {
+	static final String[] DEFAULT_PATHS = { "/resolutions", "/resolutions/**", "/resolution/**", "/token" };
+
+	@Bean
+	FilterRegistrationBean<PreflightCorsFilter> preflightCorsFilter(CorsProperties properties, MeterRegistry meters) {
+		Map<String, CorsProperties.Policy> policies = properties.getPaths();
+		if (policies.isEmpty()) {
+			policies = new LinkedHashMap<>();
+			for (String path : DEFAULT_PATHS) {
+				policies.put(path, new CorsProperties.Policy());
+			}
+		}
+		Map<String, CorsConfiguration> configurations = new LinkedHashMap<>();
+		for (Map.Entry<String, CorsProperties.Policy> policy : policies.entrySet()) {
+			configurations.put(policy.getKey(), configuration(policy.getValue(), properties));
+		}
+		FilterRegistrationBean<PreflightCorsFilter> registration =
+				new FilterRegistrationBean<>(new PreflightCorsFilter(configurations, meters));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+	private static CorsConfiguration configuration(CorsProperties.Policy policy, CorsProperties properties) {
+		CorsConfiguration configuration = new CorsConfiguration();
+		configuration.setAllowedOrigins(policy.getAllowedOrigins());
+		configuration.setAllowedMethods(policy.getAllowedMethods());
+		configuration.setAllowedHeaders(policy.getAllowedHeaders());
+		configuration.setAllowCredentials(policy.isAllowCredentials());
+		configuration.setMaxAge(properties.getMaxAge());
+		return configuration;
+	}
+}
@@ -0,0 +1,81 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies CORS policies that were resolved once at startup, and answers preflight requests for those
+ * paths without continuing down the filter chain. Requests for other paths pass through untouched.
+ *
+ * Place this filter ahead of Spring Security so that preflights skip authentication entirely.
+ */
+public class PreflightCorsFilter extends OncePerRequestFilter {
+	private final List<String> patterns;
+	private final List<CorsConfiguration> configurations;
+	private final AntPathMatcher matcher = new AntPathMatcher();
+	private final UrlPathHelper paths = new UrlPathHelper();
+	private final CorsProcessor processor = new DefaultCorsProcessor();
+	private final Timer allowed;
+	private final Timer rejected;
+
+	public PreflightCorsFilter(Map<String, CorsConfiguration> configurations, MeterRegistry meters) {
+		this.patterns = Collections.unmodifiableList(new ArrayList<>(configurations.keySet()));
+		this.configurations = Collections.unmodifiableList(new ArrayList<>(configurations.values()));
+		this.allowed = timer(meters, "allowed");
+		this.rejected = timer(meters, "rejected");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		CorsConfiguration configuration = CorsUtils.isCorsRequest(request) ? configuration(request) : null;
+		if (configuration == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		if (!CorsUtils.isPreFlightRequest(request)) {
+			if (this.processor.processRequest(configuration, request, response)) {
+				chain.doFilter(request, response);
+			}
+			return;
+		}
+		long start = System.nanoTime();
+		boolean valid = this.processor.processRequest(configuration, request, response);
+		(valid ? this.allowed : this.rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	private static Timer timer(MeterRegistry meters, String outcome) {
+		return Timer.builder("resolutions.cors.preflight")
+				.description("CORS preflight requests answered ahead of the security filter chain")
+				.tag("outcome", outcome)
+				.register(meters);
+	}
+
+	private CorsConfiguration configuration(HttpServletRequest request) {
+		String path = this.paths.getPathWithinApplication(request);
+		for (int i = 0; i < this.patterns.size(); i++) {
+			if (this.matcher.match(this.patterns.get(i), path)) {
+				return this.configurations.get(i);
+			}
+		}
+		return null;
+	}
+}
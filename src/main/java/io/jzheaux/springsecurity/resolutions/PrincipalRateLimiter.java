@@ -0,0 +1,74 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a {@link TokenBucket} for each principal and authority.
+ *
+ * Each authority tracks at most {@code maximumPrincipals} in a {@link BoundedMap}; when full, principals whose
+ * buckets have refilled are forgotten first, since a new bucket would be no different.
+ */
+public class PrincipalRateLimiter {
+	private final Map<String, Limit> limits;
+	private LongSupplier nanoTime = System::nanoTime;
+
+	public PrincipalRateLimiter(RateLimitProperties properties, MeterRegistry meters) {
+		Map<String, Limit> limits = new HashMap<>();
+		for (Map.Entry<String, RateLimitProperties.Limit> limit : properties.getLimits().entrySet()) {
+			limits.put(limit.getKey(), new Limit(limit.getKey(), limit.getValue(),
+					properties.getMaximumPrincipals(), meters));
+		}
+		this.limits = Collections.unmodifiableMap(limits);
+	}
+
+	void setNanoTime(LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * Take a token from this principal's bucket for this authority
+	 *
+	 * @return {@code 0} if the request may proceed, otherwise how many nanoseconds until it may
+	 */
+	public long tryAcquire(String authority, String principal) {
+		Limit limit = this.limits.get(authority);
+		if (limit == null) {
+			return 0;
+		}
+		long now = this.nanoTime.getAsLong();
+		TokenBucket bucket = limit.buckets.get(principal);
+		if (bucket == null) {
+			bucket = limit.buckets.computeIfAbsent(principal,
+					p -> new TokenBucket(limit.interval, limit.burst, now), b -> b.isFull(now));
+		}
+		long wait = bucket.tryTake(now);
+		if (wait > 0) {
+			limit.rejected.increment();
+		}
+		return wait;
+	}
+
+	private static class Limit {
+		final long interval;
+		final int burst;
+		final BoundedMap<TokenBucket> buckets;
+		final Counter rejected;
+
+		Limit(String authority, RateLimitProperties.Limit limit, int maximumPrincipals, MeterRegistry meters) {
+			this.buckets = new BoundedMap<>(maximumPrincipals);
+			this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond());
+			this.burst = limit.getBurst();
+			this.rejected = Counter.builder("resolutions.rate-limit.rejected")
+					.description("Requests rejected because their principal was over its rate limit")
+					.tag("authority", authority)
+					.register(meters);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty("resolutions.rate-limit.enabled")
+public class RateLimitConfiguration {
+	@Bean
+	PrincipalRateLimiter principalRateLimiter(RateLimitProperties properties, MeterRegistry meters) {
+		return new PrincipalRateLimiter(properties, meters);
+	}
+}
@@ -0,0 +1,65 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers {@code 429 Too Many Requests} when the authenticated principal is over its rate limit for the
+ * authority that the request needs.
+ *
+ * The authority is the one mapped to the first matching {@link RequestMatcher}, which should be the same matchers
+ * that authorize the request; requests that match none aren't limited. Place this filter after
+ * {@link org.springframework.security.web.access.intercept.FilterSecurityInterceptor} so that requests that are
+ * denied don't spend tokens; unauthenticated requests pass through.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+	private final PrincipalRateLimiter limiter;
+	private final Map<RequestMatcher, String> authorities;
+
+	public RateLimitFilter(PrincipalRateLimiter limiter, Map<RequestMatcher, String> authorities) {
+		this.limiter = limiter;
+		this.authorities = new LinkedHashMap<>(authorities);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		String authority = authority(request);
+		if (authority == null || authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long wait = this.limiter.tryAcquire(authority, authentication.getName());
+		if (wait > 0) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER,
+					String.valueOf(TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+
+	private String authority(HttpServletRequest request) {
+		for (Map.Entry<RequestMatcher, String> authority : this.authorities.entrySet()) {
+			if (authority.getKey().matches(request)) {
+				return authority.getValue();
+			}
+		}
+		return null;
+	}
+}
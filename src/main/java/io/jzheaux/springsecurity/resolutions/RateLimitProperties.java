@@ -0,0 +1,89 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("resolutions.rate-limit")
+public class RateLimitProperties {
+	/**
+	 * Whether to limit how often each authenticated principal can call the API
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * How many principals to track for each authority before forgetting the ones with full buckets
+	 */
+	private int maximumPrincipals = 10000;
+
+	/**
+	 * The limit for each authority, applied to the requests that need it
+	 */
+	private Map<String, Limit> limits = new LinkedHashMap<>();
+
+	public RateLimitProperties() {
+		this.limits.put("resolution:read", new Limit(50, 100));
+		this.limits.put("resolution:write", new Limit(5, 20));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaximumPrincipals() {
+		return maximumPrincipals;
+	}
+
+	public void setMaximumPrincipals(int maximumPrincipals) {
+		this.maximumPrincipals = maximumPrincipals;
+	}
+
+	public Map<String, Limit> getLimits() {
+		return limits;
+	}
+
+	public void setLimits(Map<String, Limit> limits) {
+		this.limits = limits;
+	}
+
+	public static class Limit {
+		/**
+		 * How many requests each principal may make per second, on average
+		 */
+		private double permitsPerSecond;
+
+		/**
+		 * How many requests each principal may make at once after being idle
+		 */
+		private int burst;
+
+		public Limit() {
+		}
+
+		Limit(double permitsPerSecond, int burst) {
+			this.permitsPerSecond = permitsPerSecond;
+			this.burst = burst;
+		}
+
+		public double getPermitsPerSecond() {
+			return permitsPerSecond;
+		}
+
+		public void setPermitsPerSecond(double permitsPerSecond) {
+			this.permitsPerSecond = permitsPerSecond;
+		}
+
+		public int getBurst() {
+			return burst;
+		}
+
+		public void setBurst(int burst) {
+			this.burst = burst;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to the database at {@code resolutions.replica.url}
+ *
+ * The primary and replica pools aren't beans themselves so that everything that needs a
+ * {@link DataSource}, including schema initialization, goes through the router. Since that also hides them
+ * from Spring Boot's pool metrics, both are registered with the {@link MeterRegistry} here.
+ */
+@Configuration
+@ConditionalOnProperty("resolutions.replica.url")
+public class ReplicaConfiguration implements DisposableBean {
+	private final HikariDataSource primary;
+	private final HikariDataSource replica;
+
+	public ReplicaConfiguration(DataSourceProperties properties, Environment environment,
+			@Value("${resolutions.replica.url}") String url,
+			@Value("${resolutions.replica.username:#{null}}") String username,
+			@Value("${resolutions.replica.password:#{null}}") String password,
+			ObjectProvider<MeterRegistry> meters) {
+		Binder binder = Binder.get(environment);
+		this.primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(this.primary));
+
+		this.replica = DataSourceBuilder.create().type(HikariDataSource.class)
+				.url(url).username(username).password(password).build();
+		binder.bind("resolutions.replica.hikari", Bindable.ofInstance(this.replica));
+		if (this.primary.getPoolName() != null) {
+			this.replica.setPoolName(this.primary.getPoolName() + "-replica");
+		}
+		this.replica.setReadOnly(true);
+
+		MeterRegistry registry = meters.getIfAvailable();
+		if (registry != null) {
+			this.primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+			this.replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		}
+	}
+
+	@Bean
+	DataSource dataSource(
+			@Value("${resolutions.replica.stickiness:5s}") Duration stickiness,
+			@Value("${resolutions.replica.maximum-sticky:10000}") int maximumSticky) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(this.primary, this.replica, stickiness, maximumSticky);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Override
+	public void destroy() {
+		this.replica.close();
+		this.primary.close();
+	}
+}
@@ -0,0 +1,180 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * A user whose transaction committed a write keeps reading from the primary for a short window so that they see
+ * their own writes. A write is any statement prepared, executed, or batched on the primary connection that starts
+ * with {@code INSERT}, {@code UPDATE}, {@code DELETE}, or {@code MERGE}.
+ * Wrap this in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the connection is
+ * chosen once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	enum Route { PRIMARY, REPLICA }
+
+	private final Duration stickiness;
+	private final int maximumSticky;
+	private static final Pattern WRITE = Pattern.compile("\\s*(/\\*.*?\\*/\\s*)*(insert|update|delete|merge)\\b",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+	private final Map<String, Instant> recentWriters = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickiness, int maximumSticky) {
+		Assert.notNull(primary, "primary cannot be null");
+		Assert.notNull(replica, "replica cannot be null");
+		Assert.isTrue(maximumSticky > 0, "maximumSticky must be positive");
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(Route.PRIMARY, primary);
+		targets.put(Route.REPLICA, replica);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		this.stickiness = stickiness;
+		this.maximumSticky = maximumSticky;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return track(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return track(super.getConnection(username, password));
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String username = currentUsername();
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return username != null && isSticky(username) ? Route.PRIMARY : Route.REPLICA;
+		}
+		if (username != null && TransactionSynchronizationManager.isSynchronizationActive() &&
+				!TransactionSynchronizationManager.hasResource(this)) {
+			WriteTracker tracker = new WriteTracker(username);
+			TransactionSynchronizationManager.bindResource(this, tracker);
+			TransactionSynchronizationManager.registerSynchronization(tracker);
+		}
+		return Route.PRIMARY;
+	}
+
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private boolean isSticky(String username) {
+		Instant until = this.recentWriters.get(username);
+		if (until == null) {
+			return false;
+		}
+		if (until.isAfter(this.clock.instant())) {
+			return true;
+		}
+		this.recentWriters.remove(username, until);
+		return false;
+	}
+
+	private void stick(String username) {
+		if (this.recentWriters.size() >= this.maximumSticky && !this.recentWriters.containsKey(username)) {
+			makeRoom();
+		}
+		this.recentWriters.put(username, this.clock.instant().plus(this.stickiness));
+	}
+
+	private void makeRoom() {
+		Instant now = this.clock.instant();
+		this.recentWriters.values().removeIf(until -> !until.isAfter(now));
+		Iterator<String> usernames = this.recentWriters.keySet().iterator();
+		while (this.recentWriters.size() >= this.maximumSticky && usernames.hasNext()) {
+			usernames.next();
+			usernames.remove();
+		}
+	}
+
+	private Connection track(Connection connection) {
+		WriteTracker tracker = (WriteTracker) TransactionSynchronizationManager.getResource(this);
+		if (tracker == null) {
+			return connection;
+		}
+		return track(Connection.class, connection, tracker);
+	}
+
+	private static <T> T track(Class<T> type, T target, WriteTracker tracker) {
+		return type.cast(Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (takesSql(method) && args != null && args.length > 0 && args[0] instanceof String &&
+							WRITE.matcher((String) args[0]).lookingAt()) {
+						tracker.wrote = true;
+					}
+					Object result;
+					try {
+						result = method.invoke(target, args);
+					} catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+					if ("createStatement".equals(method.getName())) {
+						return track(Statement.class, (Statement) result, tracker);
+					}
+					return result;
+				}));
+	}
+
+	private static boolean takesSql(Method method) {
+		String name = method.getName();
+		return name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch");
+	}
+
+	private static String currentUsername() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null ? null : authentication.getName();
+	}
+
+	/**
+	 * Remembers whether the current transaction wrote through the primary, and makes its user sticky once it commits
+	 */
+	private final class WriteTracker extends TransactionSynchronizationAdapter {
+		private final String username;
+		private volatile boolean wrote;
+
+		WriteTracker(String username) {
+			this.username = username;
+		}
+
+		@Override
+		public void afterCommit() {
+			if (this.wrote) {
+				stick(this.username);
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+		}
+	}
+}
@@ -1,11 +1,16 @@
 package io.jzheaux.springsecurity.resolutions;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Where;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Where(clause="deleted = false")
 public class Resolution {
 	@Id
 	private UUID id;
@@ -19,6 +24,14 @@ public class Resolution {
 	@Column(nullable=false)
 	private Boolean completed = false;
 
+	@Column(nullable=false, columnDefinition="boolean default false")
+	@JsonIgnore
+	private boolean deleted = false;
+
+	@Column
+	@JsonIgnore
+	private Instant modified;
+
 	public Resolution() {
 	}
 
@@ -26,6 +39,14 @@ public class Resolution {
 		this.id = UUID.randomUUID();
 		this.text = text;
 		this.owner = owner;
+		this.modified = Instant.now();
+	}
+
+	public Resolution(UUID id, String text, String owner, Boolean completed) {
+		this.id = id;
+		this.text = text;
+		this.owner = owner;
+		this.completed = completed;
 	}
 
 	public UUID getId() {
@@ -59,4 +80,16 @@ public class Resolution {
 	public void setCompleted(Boolean completed) {
 		this.completed = completed;
 	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public Instant getModified() {
+		return modified;
+	}
+
+	public void setModified(Instant modified) {
+		this.modified = modified;
+	}
 }
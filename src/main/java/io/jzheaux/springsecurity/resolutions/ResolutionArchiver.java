@@ -0,0 +1,83 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves completed and deleted resolutions that haven't changed in a while into {@code resolution_archive},
+ * one batch per transaction, so that the {@code resolution} table only holds the working set.
+ */
+@Component
+@ConditionalOnProperty("resolutions.archive.enabled")
+public class ResolutionArchiver {
+	private static final String SELECT =
+			"SELECT id FROM resolution WHERE (completed = true OR deleted = true) AND modified < :cutoff " +
+			"ORDER BY modified LIMIT :limit";
+	private static final String COPY =
+			"INSERT INTO resolution_archive (id, text, owner, completed, deleted, modified, archived) " +
+			"SELECT id, text, owner, completed, deleted, modified, :archived FROM resolution WHERE id IN (:ids)";
+	private static final String DELETE = "DELETE FROM resolution WHERE id IN (:ids)";
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final NamedParameterJdbcTemplate jdbc;
+	private final TransactionTemplate transactions;
+	private final ResolutionIndex index;
+	private final Duration after;
+	private final int batchSize;
+
+	public ResolutionArchiver(NamedParameterJdbcTemplate jdbc, TransactionTemplate transactions, ResolutionIndex index,
+			@Value("${resolutions.archive.after:P30D}") Duration after,
+			@Value("${resolutions.archive.batch-size:1000}") int batchSize) {
+		this.jdbc = jdbc;
+		this.transactions = transactions;
+		this.index = index;
+		this.after = after;
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(fixedDelayString="${resolutions.archive.interval:PT1H}",
+			initialDelayString="${resolutions.archive.interval:PT1H}")
+	public int archive() {
+		long start = System.currentTimeMillis();
+		Instant now = Instant.now();
+		Timestamp cutoff = Timestamp.from(now.minus(this.after));
+		int archived = 0;
+		int moved;
+		do {
+			moved = this.transactions.execute(status -> archive(cutoff, Timestamp.from(now)));
+			archived += moved;
+		} while (moved == this.batchSize);
+		if (archived > 0) {
+			this.logger.info("Archived " + archived + " resolutions in " + (System.currentTimeMillis() - start) + "ms");
+		}
+		return archived;
+	}
+
+	private int archive(Timestamp cutoff, Timestamp now) {
+		List<Object> ids = this.jdbc.queryForList(SELECT, new MapSqlParameterSource("cutoff", cutoff)
+				.addValue("limit", this.batchSize), Object.class);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids).addValue("archived", now);
+		this.jdbc.update(COPY, parameters);
+		this.jdbc.update(DELETE, parameters);
+		for (Object id : ids) {
+			this.index.remove(ResolutionIndex.uuid(id));
+		}
+		return ids.size();
+	}
+}
@@ -0,0 +1,56 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Inserts users, their authorities, and resolutions with JDBC batches, bypassing the persistence context.
+ */
+@Component
+public class ResolutionBatchWriter {
+	private final JdbcTemplate jdbc;
+	private final int batchSize;
+
+	public ResolutionBatchWriter(JdbcTemplate jdbc, SeedProperties properties) {
+		this.jdbc = jdbc;
+		this.batchSize = properties.getBatchSize();
+	}
+
+	@Transactional
+	public void write(Collection<User> users, Collection<Resolution> resolutions) {
+		List<UserAuthority> authorities = new ArrayList<>();
+		for (User user : users) {
+			authorities.addAll(user.userAuthorities);
+		}
+
+		this.jdbc.batchUpdate("INSERT INTO users (id, username, password, enabled, authority_mask) VALUES (?, ?, ?, ?, ?)",
+				users, this.batchSize, (ps, user) -> {
+					ps.setObject(1, user.id);
+					ps.setString(2, user.username);
+					ps.setString(3, user.password);
+					ps.setBoolean(4, user.enabled);
+					ps.setLong(5, user.authorityMask);
+				});
+		this.jdbc.batchUpdate("INSERT INTO authorities (id, authority, username) VALUES (?, ?, ?)",
+				authorities, this.batchSize, (ps, authority) -> {
+					ps.setObject(1, authority.id);
+					ps.setString(2, authority.authority);
+					ps.setString(3, authority.user.username);
+				});
+		this.jdbc.batchUpdate("INSERT INTO resolution (id, text, owner, completed, deleted, modified) VALUES (?, ?, ?, ?, ?, ?)",
+				resolutions, this.batchSize, (ps, resolution) -> {
+					ps.setObject(1, resolution.getId());
+					ps.setString(2, resolution.getText());
+					ps.setString(3, resolution.getOwner());
+					ps.setBoolean(4, resolution.getCompleted());
+					ps.setBoolean(5, resolution.isDeleted());
+					ps.setTimestamp(6, resolution.getModified() == null ? null : Timestamp.from(resolution.getModified()));
+				});
+	}
+}
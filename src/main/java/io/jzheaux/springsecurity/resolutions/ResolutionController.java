@@ -1,54 +1,108 @@
 package io.jzheaux.springsecurity.resolutions;
 
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 public class ResolutionController {
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private final ResolutionRepository resolutions;
+	private final ResolutionIndex index;
+	private final ResolutionStatistics statistics;
 
-	public ResolutionController(ResolutionRepository resolutions) {
+	public ResolutionController(ResolutionRepository resolutions, ResolutionIndex index,
+			ResolutionStatistics statistics) {
 		this.resolutions = resolutions;
+		this.index = index;
+		this.statistics = statistics;
 	}
 
 	@GetMapping("/resolutions")
-	public Iterable<Resolution> read() {
-		return this.resolutions.findAll();
+	@Transactional(readOnly=true)
+	public Iterable<ResolutionSummary> read() {
+		return this.resolutions.findAllSummaries();
 	}
 
 	@GetMapping("/resolution/{id}")
+	@Transactional(readOnly=true)
 	public Optional<Resolution> read(@PathVariable("id") UUID id) {
 		return this.resolutions.findById(id);
 	}
 
+	@GetMapping("/resolutions/search")
+	@Transactional(readOnly=true)
+	public List<Resolution> search(@RequestParam("q") String query,
+			@RequestParam(name="page", defaultValue="0") int page,
+			@RequestParam(name="size", defaultValue="20") int size,
+			Authentication authentication) {
+		page = Math.max(page, 0);
+		size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+		return this.index.search(authentication.getName(), query, page, size);
+	}
+
+	@GetMapping("/resolutions/stats")
+	@Transactional(readOnly=true)
+	public ResolutionStatistics.Summary stats(Authentication authentication) {
+		String owner = authentication.getName();
+		if (this.statistics.isReady()) {
+			return this.statistics.summary(owner);
+		}
+		return new ResolutionStatistics.Summary(owner,
+				this.resolutions.countByOwner(owner), this.resolutions.countByOwnerAndCompletedTrue(owner));
+	}
+
 	@PostMapping("/resolution")
 	public Resolution make(@RequestBody String text) {
 		String owner = "user";
-		Resolution resolution = new Resolution(text, owner);
-		return this.resolutions.save(resolution);
+		Resolution resolution = this.resolutions.save(new Resolution(text, owner));
+		this.index.index(resolution);
+		this.statistics.made(owner);
+		return resolution;
 	}
 
 	@PutMapping(path="/resolution/{id}/revise")
 	@Transactional
 	public Optional<Resolution> revise(@PathVariable("id") UUID id, @RequestBody String text) {
 		this.resolutions.revise(id, text);
-		return read(id);
+		Optional<Resolution> resolution = read(id);
+		resolution.ifPresent(this.index::index);
+		return resolution;
 	}
 
 	@PutMapping("/resolution/{id}/complete")
 	@Transactional
 	public Optional<Resolution> complete(@PathVariable("id") UUID id) {
-		this.resolutions.complete(id);
-		return read(id);
+		boolean completed = this.resolutions.complete(id) > 0;
+		Optional<Resolution> resolution = read(id);
+		resolution.ifPresent(this.index::index);
+		if (completed) {
+			resolution.map(Resolution::getOwner).ifPresent(this.statistics::completed);
+		}
+		return resolution;
+	}
+
+	@DeleteMapping("/resolution/{id}")
+	@Transactional
+	public Optional<Resolution> delete(@PathVariable("id") UUID id) {
+		Optional<Resolution> resolution = read(id);
+		if (resolution.isPresent() && this.resolutions.softDelete(id) > 0) {
+			this.index.remove(id);
+			this.statistics.deleted(resolution.get().getOwner(), resolution.get().getCompleted());
+		}
+		return resolution;
 	}
 }
@@ -0,0 +1,256 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index of resolution text, partitioned by owner.
+ *
+ * The index is built from the {@code resolution} table once the database is seeded, and kept current by
+ * {@link ResolutionController}. A search matches resolutions containing every term in the query, ordered by id.
+ * Until the index is built, the same search runs against the database instead.
+ */
+@Component
+public class ResolutionIndex {
+	private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcTemplate jdbc;
+	private final ResolutionInitializer initializer;
+	private final Map<UUID, Resolution> resolutions = new ConcurrentHashMap<>();
+	private final Map<String, OwnerIndex> owners = new ConcurrentHashMap<>();
+	private final Set<UUID> removedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean ready;
+	private volatile CompletableFuture<Void> built = new CompletableFuture<>();
+
+	public ResolutionIndex(JdbcTemplate jdbc, ResolutionInitializer initializer) {
+		this.jdbc = jdbc;
+		this.initializer = initializer;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	void rebuildWhenSeeded() {
+		this.built = this.initializer.getSeeded().thenRunAsync(this::rebuild).whenComplete((result, failure) -> {
+			if (failure != null) {
+				this.logger.error("Failed to build the resolution index; searches will query the database", failure);
+			}
+		});
+	}
+
+	/**
+	 * Whether the index has been built, and so can answer searches
+	 */
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	/**
+	 * Completes once the index is built, or exceptionally if building it failed
+	 */
+	public CompletableFuture<Void> getBuilt() {
+		return this.built;
+	}
+
+	void rebuild() {
+		long start = System.currentTimeMillis();
+		JdbcTemplate jdbc = new JdbcTemplate(this.jdbc.getDataSource());
+		jdbc.setFetchSize(1000);
+		jdbc.query("SELECT id, text, owner, completed FROM resolution WHERE deleted = false", rs -> {
+			Resolution resolution = new Resolution(uuid(rs.getObject(1)), rs.getString(2), rs.getString(3), rs.getBoolean(4));
+			// resolutions changed while rebuilding are already current, and those removed must stay out
+			this.resolutions.compute(resolution.getId(), (id, previous) -> {
+				if (previous != null || this.removedWhileBuilding.contains(id)) {
+					return previous;
+				}
+				this.owners.computeIfAbsent(resolution.getOwner(), owner -> new OwnerIndex())
+						.add(id, terms(resolution.getText()));
+				return resolution;
+			});
+		});
+		this.ready = true;
+		this.removedWhileBuilding.clear();
+		this.logger.info("Indexed " + this.resolutions.size() + " resolutions in " +
+				(System.currentTimeMillis() - start) + "ms");
+	}
+
+	/**
+	 * Adds or replaces this resolution, once the current transaction commits
+	 */
+	public void index(Resolution resolution) {
+		Resolution copy = new Resolution(resolution.getId(), resolution.getText(),
+				resolution.getOwner(), resolution.getCompleted());
+		AfterCommit.run(() -> add(copy));
+	}
+
+	/**
+	 * Removes this resolution, once the current transaction commits
+	 */
+	public void remove(UUID id) {
+		AfterCommit.run(() -> this.resolutions.compute(id, (key, previous) -> {
+			if (previous != null) {
+				this.owners.get(previous.getOwner()).remove(key, terms(previous.getText()));
+			}
+			if (!this.ready) {
+				this.removedWhileBuilding.add(key);
+			}
+			return null;
+		}));
+	}
+
+	/**
+	 * The {@code page}th page of this owner's resolutions that contain every term in {@code query}, ordered by id
+	 */
+	public List<Resolution> search(String owner, String query, int page, int size) {
+		Set<String> terms = terms(query);
+		if (terms.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (!this.ready) {
+			return searchDatabase(owner, terms, page, size);
+		}
+		OwnerIndex index = this.owners.get(owner);
+		if (index == null) {
+			return Collections.emptyList();
+		}
+		List<Resolution> results = new ArrayList<>(size);
+		for (UUID id : index.search(terms, (long) page * size, size)) {
+			Resolution resolution = this.resolutions.get(id);
+			if (resolution != null) {
+				results.add(resolution);
+			}
+		}
+		return results;
+	}
+
+	// LIKE narrows the rows down, and the same tokenizing and ordering as the index decide the page
+	private List<Resolution> searchDatabase(String owner, Set<String> terms, int page, int size) {
+		StringBuilder sql = new StringBuilder(
+				"SELECT id, text, owner, completed FROM resolution WHERE deleted = false AND owner = ?");
+		List<Object> parameters = new ArrayList<>();
+		parameters.add(owner);
+		for (String term : terms) {
+			sql.append(" AND LOWER(text) LIKE ?");
+			parameters.add("%" + term + "%");
+		}
+		List<Resolution> matches = new ArrayList<>();
+		this.jdbc.query(sql.toString(), rs -> {
+			String text = rs.getString(2);
+			if (terms(text).containsAll(terms)) {
+				matches.add(new Resolution(uuid(rs.getObject(1)), text, rs.getString(3), rs.getBoolean(4)));
+			}
+		}, parameters.toArray());
+		matches.sort(Comparator.comparing(Resolution::getId));
+		long offset = (long) page * size;
+		if (offset >= matches.size()) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(matches.subList((int) offset, (int) Math.min(offset + size, matches.size())));
+	}
+
+	// the postings change inside compute so that concurrent updates to one resolution can't interleave
+	private void add(Resolution resolution) {
+		this.resolutions.compute(resolution.getId(), (id, previous) -> {
+			if (previous != null) {
+				this.owners.get(previous.getOwner()).remove(id, terms(previous.getText()));
+			}
+			this.owners.computeIfAbsent(resolution.getOwner(), owner -> new OwnerIndex())
+					.add(id, terms(resolution.getText()));
+			return resolution;
+		});
+	}
+
+	static Set<String> terms(String text) {
+		Set<String> terms = new LinkedHashSet<>();
+		if (text == null) {
+			return terms;
+		}
+		for (String term : TERM_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+			if (!term.isEmpty()) {
+				terms.add(term);
+			}
+		}
+		return terms;
+	}
+
+	static UUID uuid(Object id) {
+		if (id instanceof UUID) {
+			return (UUID) id;
+		}
+		ByteBuffer bytes = ByteBuffer.wrap((byte[]) id);
+		return new UUID(bytes.getLong(), bytes.getLong());
+	}
+
+	private static class OwnerIndex {
+		private final Map<String, NavigableSet<UUID>> postings = new HashMap<>();
+
+		synchronized void add(UUID id, Set<String> terms) {
+			for (String term : terms) {
+				this.postings.computeIfAbsent(term, t -> new TreeSet<>()).add(id);
+			}
+		}
+
+		synchronized void remove(UUID id, Set<String> terms) {
+			for (String term : terms) {
+				NavigableSet<UUID> ids = this.postings.get(term);
+				if (ids != null && ids.remove(id) && ids.isEmpty()) {
+					this.postings.remove(term);
+				}
+			}
+		}
+
+		synchronized List<UUID> search(Set<String> terms, long offset, int limit) {
+			NavigableSet<UUID> smallest = null;
+			for (String term : terms) {
+				NavigableSet<UUID> ids = this.postings.get(term);
+				if (ids == null) {
+					return Collections.emptyList();
+				}
+				if (smallest == null || ids.size() < smallest.size()) {
+					smallest = ids;
+				}
+			}
+			List<UUID> matches = new ArrayList<>(limit);
+			for (UUID id : smallest) {
+				if (containsAll(id, terms) && offset-- <= 0) {
+					matches.add(id);
+					if (matches.size() == limit) {
+						break;
+					}
+				}
+			}
+			return matches;
+		}
+
+		private boolean containsAll(UUID id, Set<String> terms) {
+			for (String term : terms) {
+				if (!this.postings.get(term).contains(id)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reports the application as down if {@link ResolutionIndex} failed to build, since searches
+ * would otherwise keep falling back to the database without anyone noticing
+ */
+@Component
+public class ResolutionIndexHealthIndicator implements HealthIndicator {
+	private final ResolutionIndex index;
+
+	public ResolutionIndexHealthIndicator(ResolutionIndex index) {
+		this.index = index;
+	}
+
+	@Override
+	public Health health() {
+		CompletableFuture<Void> built = this.index.getBuilt();
+		if (built.isCompletedExceptionally()) {
+			return Health.down().build();
+		}
+		return Health.up().withDetail("ready", built.isDone()).build();
+	}
+}
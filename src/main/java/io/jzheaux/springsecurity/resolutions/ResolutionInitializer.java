@@ -1,43 +1,112 @@
 package io.jzheaux.springsecurity.resolutions;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
+@Lazy(false)
 public class ResolutionInitializer implements SmartInitializingSingleton {
+	private static final String PASSWORD = "{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W";
+
+	private final Log logger = LogFactory.getLog(getClass());
+
 	private final ResolutionRepository resolutions;
 	private final UserRepository users;
+	private final ResolutionBatchWriter writer;
+	private final SeedProperties properties;
+	private final TaskExecutor executor = new SimpleAsyncTaskExecutor("seed-");
+	private final CompletableFuture<Void> seeded = new CompletableFuture<>();
 
-	public ResolutionInitializer(ResolutionRepository resolutions, UserRepository users) {
+	public ResolutionInitializer(ResolutionRepository resolutions, UserRepository users,
+			ResolutionBatchWriter writer, SeedProperties properties) {
 		this.resolutions = resolutions;
 		this.users = users;
+		this.writer = writer;
+		this.properties = properties;
 	}
 
 	@Override
 	public void afterSingletonsInstantiated() {
-		User user = new User("user",
-				"{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W");
+		if (this.properties.isAsync()) {
+			this.executor.execute(() -> {
+				try {
+					seed();
+				} catch (RuntimeException e) {
+					this.logger.error("Failed to seed the database", e);
+				}
+			});
+		} else {
+			seed();
+		}
+	}
+
+	public CompletableFuture<Void> getSeeded() {
+		return this.seeded;
+	}
+
+	void seed() {
+		try {
+			if (this.users.findByUsername("user").isPresent()) {
+				this.logger.info("Skipping seeding since the database already has users");
+			} else {
+				long start = System.currentTimeMillis();
+				seedBuiltIns();
+				generate();
+				this.logger.info("Seeded the database in " + (System.currentTimeMillis() - start) + "ms");
+			}
+			this.seeded.complete(null);
+		} catch (RuntimeException e) {
+			this.seeded.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private void seedBuiltIns() {
+		User user = new User("user", PASSWORD);
 		user.grantAuthority("resolution:read");
 		user.grantAuthority("resolution:write");
 
-		User hasread = new User();
-		hasread.setUsername("hasread");
-		hasread.setPassword("{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W");
+		User hasread = new User("hasread", PASSWORD);
 		hasread.grantAuthority("resolution:read");
-		this.users.save(hasread);
 
-		User haswrite = new User();
-		haswrite.setUsername("haswrite");
-		haswrite.setPassword("{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W");
+		User haswrite = new User("haswrite", PASSWORD);
 		haswrite.grantAuthority("resolution:write");
-		this.users.save(haswrite);
 
-		this.users.save(user);
-		this.users.save(user);
-		this.resolutions.save(new Resolution("Read War and Peace", "user"));
-		this.resolutions.save(new Resolution("Free Solo the Eiffel Tower", "user"));
-		this.resolutions.save(new Resolution("Hang Christmas Lights", "user"));
+		this.users.saveAll(Arrays.asList(user, hasread, haswrite));
+		this.resolutions.saveAll(Arrays.asList(
+				new Resolution("Read War and Peace", "user"),
+				new Resolution("Free Solo the Eiffel Tower", "user"),
+				new Resolution("Hang Christmas Lights", "user")));
+	}
+
+	private void generate() {
+		int total = this.properties.getUsers();
+		int perUser = this.properties.getResolutionsPerUser();
+		int batchSize = this.properties.getBatchSize();
+		for (int from = 0; from < total; from += batchSize) {
+			int to = Math.min(total, from + batchSize);
+			List<User> users = new ArrayList<>(to - from);
+			List<Resolution> resolutions = new ArrayList<>((to - from) * perUser);
+			for (int i = from; i < to; i++) {
+				User user = new User("user" + i, PASSWORD);
+				user.grantAuthority("resolution:read");
+				user.grantAuthority("resolution:write");
+				users.add(user);
+				for (int j = 0; j < perUser; j++) {
+					resolutions.add(new Resolution("Resolution " + j + " for " + user.username, user.username));
+				}
+			}
+			this.writer.write(users, resolutions);
+		}
 	}
 }
@@ -10,11 +10,28 @@ import java.util.UUID;
 
 @Repository
 public interface ResolutionRepository extends CrudRepository<Resolution, UUID> {
+	/**
+	 * Selects only the columns that a list response needs into {@link ResolutionSummary}s,
+	 * so the persistence context doesn't track or snapshot them
+	 */
+	@Query("SELECT new io.jzheaux.springsecurity.resolutions.ResolutionSummary(r.id, r.text, r.owner, r.completed) " +
+			"FROM Resolution r")
+	List<ResolutionSummary> findAllSummaries();
+
 	@Modifying
-	@Query("UPDATE Resolution SET text = :text WHERE id = :id")
+	@Query("UPDATE Resolution SET text = :text, modified = CURRENT_TIMESTAMP WHERE id = :id AND deleted = false")
 	void revise(UUID id, String text);
 
+	long countByOwner(String owner);
+
+	long countByOwnerAndCompletedTrue(String owner);
+
+	@Modifying
+	@Query("UPDATE Resolution SET completed = true, modified = CURRENT_TIMESTAMP " +
+			"WHERE id = :id AND completed = false AND deleted = false")
+	int complete(UUID id);
+
 	@Modifying
-	@Query("UPDATE Resolution SET completed = 1 WHERE id = :id")
-	void complete(UUID id);
+	@Query("UPDATE Resolution SET deleted = true, modified = CURRENT_TIMESTAMP WHERE id = :id AND deleted = false")
+	int softDelete(UUID id);
 }
@@ -0,0 +1,135 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-owner resolution counts, kept in memory and updated as resolutions are made and completed.
+ *
+ * The counts are reconciled with the {@code resolution} table once seeding finishes and then periodically,
+ * which also corrects any updates that raced with the previous reconciliation.
+ */
+@Component
+public class ResolutionStatistics {
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcTemplate jdbc;
+	private final ResolutionInitializer initializer;
+	private final Map<String, Counts> counts = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+
+	public ResolutionStatistics(JdbcTemplate jdbc, ResolutionInitializer initializer) {
+		this.jdbc = jdbc;
+		this.initializer = initializer;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	void reconcileWhenSeeded() {
+		this.initializer.getSeeded().thenRunAsync(this::reconcile);
+	}
+
+	@Scheduled(fixedDelayString="${resolutions.stats.reconcile-interval:PT10M}",
+			initialDelayString="${resolutions.stats.reconcile-interval:PT10M}")
+	void reconcile() {
+		long start = System.currentTimeMillis();
+		Set<String> owners = new HashSet<>(this.counts.keySet());
+		this.jdbc.query("SELECT owner, COUNT(*), SUM(CASE WHEN completed THEN 1 ELSE 0 END) FROM (" +
+				"SELECT owner, completed FROM resolution WHERE deleted = false UNION ALL " +
+				"SELECT owner, completed FROM resolution_archive WHERE deleted = false) r GROUP BY owner", rs -> {
+			counts(rs.getString(1)).reset(rs.getLong(2), rs.getLong(3));
+			owners.remove(rs.getString(1));
+		});
+		for (String owner : owners) {
+			counts(owner).reset(0, 0);
+		}
+		this.ready = true;
+		this.logger.debug("Reconciled resolution counts in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	/**
+	 * Whether the counts have been loaded from the database
+	 */
+	public boolean isReady() {
+		return this.ready;
+	}
+
+	public void made(String owner) {
+		AfterCommit.run(() -> counts(owner).total.increment());
+	}
+
+	public void completed(String owner) {
+		AfterCommit.run(() -> counts(owner).completed.increment());
+	}
+
+	public void deleted(String owner, boolean completed) {
+		AfterCommit.run(() -> {
+			Counts counts = counts(owner);
+			counts.total.decrement();
+			if (completed) {
+				counts.completed.decrement();
+			}
+		});
+	}
+
+	public Summary summary(String owner) {
+		Counts counts = this.counts.get(owner);
+		if (counts == null) {
+			return new Summary(owner, 0, 0);
+		}
+		return new Summary(owner, counts.total.sum(), counts.completed.sum());
+	}
+
+	private Counts counts(String owner) {
+		return this.counts.computeIfAbsent(owner, o -> new Counts());
+	}
+
+	private static class Counts {
+		private final LongAdder total = new LongAdder();
+		private final LongAdder completed = new LongAdder();
+
+		synchronized void reset(long total, long completed) {
+			this.total.add(total - this.total.sum());
+			this.completed.add(completed - this.completed.sum());
+		}
+	}
+
+	public static class Summary {
+		private final String owner;
+		private final long total;
+		private final long completed;
+
+		public Summary(String owner, long total, long completed) {
+			this.owner = owner;
+			this.total = total;
+			this.completed = completed;
+		}
+
+		public String getOwner() {
+			return this.owner;
+		}
+
+		public long getTotal() {
+			return this.total;
+		}
+
+		public long getCompleted() {
+			return this.completed;
+		}
+
+		public double getCompletionRate() {
+			return this.total == 0 ? 0 : (double) this.completed / this.total;
+		}
+	}
+}
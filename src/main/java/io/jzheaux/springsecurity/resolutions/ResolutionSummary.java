@@ -0,0 +1,41 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import java.util.UUID;
+
+/**
+ * A read-only view of a {@link Resolution} for list responses. It isn't an entity, so the
+ * persistence context neither tracks nor snapshots it, and changing it never writes back.
+ */
+public class ResolutionSummary {
+	private final UUID id;
+	private String text;
+	private final String owner;
+	private final Boolean completed;
+
+	public ResolutionSummary(UUID id, String text, String owner, Boolean completed) {
+		this.id = id;
+		this.text = text;
+		this.owner = owner;
+		this.completed = completed;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+
+	public String getOwner() {
+		return owner;
+	}
+
+	public Boolean getCompleted() {
+		return completed;
+	}
+}
@@ -1,32 +1,108 @@
 package io.jzheaux.springsecurity.resolutions;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.provisioning.JdbcUserDetailsManager;
+import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
 
 import javax.sql.DataSource;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @SpringBootApplication
+@EnableConfigurationProperties({ SeedProperties.class, DatasetProperties.class, CorsProperties.class,
+		AdmissionProperties.class, RateLimitProperties.class, LoginThrottleProperties.class,
+		PasswordProperties.class, TokenExchangeProperties.class })
+@EnableScheduling
 public class ResolutionsApplication extends WebSecurityConfigurerAdapter {
 
 	@Override
 	protected void configure(HttpSecurity http) throws Exception {
+		HandlerMappingIntrospector introspector = getApplicationContext().getBean(HandlerMappingIntrospector.class);
+		RequestMatcher health = EndpointRequest.to(HealthEndpoint.class);
+		RequestMatcher token = mvcMatcher(introspector, POST, "/token");
+		RequestMatcher reads = new OrRequestMatcher(mvcMatcher(introspector, GET, "/resolutions"),
+				mvcMatcher(introspector, GET, "/resolutions/**"), mvcMatcher(introspector, GET, "/resolution/**"));
+		RequestMatcher writes = new NegatedRequestMatcher(new OrRequestMatcher(health, token, reads));
 		http
 				.authorizeRequests(authz -> authz
-						.mvcMatchers(GET, "/resolutions", "/resolution/**").hasAuthority("resolution:read")
+						.requestMatchers(health).permitAll()
+						.requestMatchers(token).authenticated()
+						.requestMatchers(reads).hasAuthority("resolution:read")
 						.anyRequest().hasAuthority("resolution:write"))
 				.httpBasic(basic -> {});
+
+		AccessTokenIssuer issuer = getApplicationContext().getBeanProvider(AccessTokenIssuer.class).getIfAvailable();
+		if (issuer != null) {
+			JwtDecoder accessTokens = issuer.decoder();
+			Environment environment = getApplicationContext().getEnvironment();
+			if (environment.getProperty("resolutions.jwt.cache.enabled", Boolean.class, false)) {
+				accessTokens = new CachingJwtDecoder(accessTokens,
+						environment.getProperty("resolutions.jwt.cache.maximum-size", Integer.class, 10000));
+			}
+			JwtDecoder decoder = new AccessTokenDecoder(accessTokens,
+					getApplicationContext().getBeanProvider(JwtDecoder.class).getIfUnique());
+			JwtAuthenticationConverter authentication = new JwtAuthenticationConverter();
+			authentication.setJwtGrantedAuthoritiesConverter(
+					new InternedJwtGrantedAuthoritiesConverter(AuthorityRegistry.DEFAULT));
+			http
+					.csrf(csrf -> csrf.ignoringAntMatchers("/token"))
+					.oauth2ResourceServer(oauth2 -> oauth2
+							.authenticationEntryPoint(new DecoderUnavailableEntryPoint(new BearerTokenAuthenticationEntryPoint()))
+							.jwt(jwt -> jwt.decoder(decoder).jwtAuthenticationConverter(authentication)));
+		}
+
+		LoginThrottle throttle = getApplicationContext().getBeanProvider(LoginThrottle.class).getIfAvailable();
+		if (throttle != null) {
+			http.addFilterBefore(new LoginThrottleFilter(throttle), BasicAuthenticationFilter.class);
+		}
+
+		PrincipalRateLimiter limiter = getApplicationContext().getBeanProvider(PrincipalRateLimiter.class).getIfAvailable();
+		if (limiter != null) {
+			Map<RequestMatcher, String> authorities = new LinkedHashMap<>();
+			authorities.put(reads, "resolution:read");
+			authorities.put(writes, "resolution:write");
+			http.addFilterAfter(new RateLimitFilter(limiter, authorities), FilterSecurityInterceptor.class);
+		}
+	}
+
+	private static RequestMatcher mvcMatcher(HandlerMappingIntrospector introspector, HttpMethod method, String pattern) {
+		MvcRequestMatcher matcher = new MvcRequestMatcher(introspector, pattern);
+		matcher.setMethod(method);
+		return matcher;
 	}
 
 	public static void main(String[] args) {
@@ -36,8 +112,38 @@ public class ResolutionsApplication extends WebSecurityConfigurerAdapter {
 
 
 	@Bean
-	UserDetailsService userDetailsService(DataSource dataSource) {
-		return new JdbcUserDetailsManager(dataSource);
+	UserDetailsService userDetailsService(DataSource dataSource,
+			@Value("${resolutions.authorities.compact:false}") boolean compact) {
+		if (compact) {
+			return new AuthorityMaskUserDetailsManager(dataSource, AuthorityRegistry.DEFAULT);
+		}
+		return new JdbcUserDetailsManager(dataSource) {
+			@Override
+			protected List<GrantedAuthority> loadUserAuthorities(String username) {
+				return getJdbcTemplate().query(getAuthoritiesByUsernameQuery(), new String[] { username },
+						(rs, rowNum) -> AuthorityRegistry.DEFAULT.authority(getRolePrefix() + rs.getString(2)));
+			}
+		};
+	}
+
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapper) {
+		return new MappingJackson2CborHttpMessageConverter(objectMapper.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	@ConditionalOnProperty("resolutions.jwt.cache.enabled")
+	static BeanPostProcessor cachingJwtDecoderPostProcessor(
+			@Value("${resolutions.jwt.cache.maximum-size:10000}") int maximumSize) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof JwtDecoder && !(bean instanceof CachingJwtDecoder)) {
+					return new CachingJwtDecoder((JwtDecoder) bean, maximumSize);
+				}
+				return bean;
+			}
+		};
 	}
 
 	/*@Bean
@@ -0,0 +1,31 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reports the application as out of service until {@link ResolutionInitializer} finishes seeding
+ */
+@Component
+public class SeedHealthIndicator implements HealthIndicator {
+	private final ResolutionInitializer initializer;
+
+	public SeedHealthIndicator(ResolutionInitializer initializer) {
+		this.initializer = initializer;
+	}
+
+	@Override
+	public Health health() {
+		CompletableFuture<Void> seeded = this.initializer.getSeeded();
+		if (!seeded.isDone()) {
+			return Health.outOfService().build();
+		}
+		if (seeded.isCompletedExceptionally()) {
+			return Health.down().build();
+		}
+		return Health.up().build();
+	}
+}
@@ -0,0 +1,58 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("resolutions.seed")
+public class SeedProperties {
+	/**
+	 * Whether to seed the database on a background thread instead of during startup
+	 */
+	private boolean async = false;
+
+	/**
+	 * How many users to generate in addition to the built-in ones
+	 */
+	private int users = 0;
+
+	/**
+	 * How many resolutions to generate for each generated user
+	 */
+	private int resolutionsPerUser = 0;
+
+	/**
+	 * How many rows to send to the database in each batch
+	 */
+	private int batchSize = 1000;
+
+	public boolean isAsync() {
+		return async;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	public int getUsers() {
+		return users;
+	}
+
+	public void setUsers(int users) {
+		this.users = users;
+	}
+
+	public int getResolutionsPerUser() {
+		return resolutionsPerUser;
+	}
+
+	public void setResolutionsPerUser(int resolutionsPerUser) {
+		this.resolutionsPerUser = resolutionsPerUser;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+}
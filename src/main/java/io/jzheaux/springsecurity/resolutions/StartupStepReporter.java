@@ -0,0 +1,137 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Logs how long each phase of startup took, along with the slowest bean creations,
+ * when {@code resolutions.startup.report} is set.
+ *
+ * A bean's creation time runs from instantiation through injection and init callbacks, less the time spent
+ * creating the beans it depends on, so that each bean is charged only for its own work.
+ */
+public class StartupStepReporter implements SpringApplicationRunListener {
+	private static final int SLOWEST_BEANS = 10;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final Map<String, Long> steps = new LinkedHashMap<>();
+	private final Map<String, Long> beanDurations = new ConcurrentHashMap<>();
+	private final long start = System.nanoTime();
+	private long last = this.start;
+	private boolean enabled;
+
+	public StartupStepReporter(SpringApplication application, String[] args) {
+	}
+
+	@Override
+	public void environmentPrepared(ConfigurableEnvironment environment) {
+		this.enabled = environment.getProperty("resolutions.startup.report", Boolean.class, false);
+		step("environment");
+	}
+
+	@Override
+	public void contextPrepared(ConfigurableApplicationContext context) {
+		step("context-prepared");
+	}
+
+	@Override
+	public void contextLoaded(ConfigurableApplicationContext context) {
+		step("context-loaded");
+		if (this.enabled) {
+			context.getBeanFactory().addBeanPostProcessor(new BeanTimer());
+		}
+	}
+
+	@Override
+	public void started(ConfigurableApplicationContext context) {
+		step("context-refreshed");
+	}
+
+	@Override
+	public void running(ConfigurableApplicationContext context) {
+		step("runners");
+		if (this.enabled) {
+			report();
+		}
+	}
+
+	private void step(String name) {
+		long now = System.nanoTime();
+		this.steps.put(name, now - this.last);
+		this.last = now;
+	}
+
+	private void report() {
+		String steps = this.steps.entrySet().stream()
+				.map(step -> step.getKey() + "=" + millis(step.getValue()) + "ms")
+				.collect(Collectors.joining(", "));
+		String beans = this.beanDurations.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+				.limit(SLOWEST_BEANS)
+				.map(bean -> bean.getKey() + "=" + millis(bean.getValue()) + "ms")
+				.collect(Collectors.joining(", "));
+		this.logger.info("Ready in " + millis(this.last - this.start) + "ms [" + steps + "]");
+		this.logger.info("Slowest bean creations [" + beans + "]");
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1_000_000;
+	}
+
+	private class BeanTimer implements InstantiationAwareBeanPostProcessor {
+		// beans being created on this thread, innermost last
+		private final ThreadLocal<Deque<Creation>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+
+		@Override
+		public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+			this.creations.get().addLast(new Creation(beanName, System.nanoTime()));
+			return null;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			Deque<Creation> creations = this.creations.get();
+			if (creations.stream().noneMatch(creation -> creation.beanName.equals(beanName))) {
+				// for example, the object that a FactoryBean produced
+				return bean;
+			}
+			Creation creation;
+			do {
+				// a bean whose creation failed never reaches here, so skip past it
+				creation = creations.removeLast();
+			} while (!creation.beanName.equals(beanName));
+			long elapsed = System.nanoTime() - creation.started;
+			beanDurations.put(beanName, elapsed - creation.dependencies);
+			Creation dependent = creations.peekLast();
+			if (dependent != null) {
+				dependent.dependencies += elapsed;
+			}
+			return bean;
+		}
+	}
+
+	private static class Creation {
+		private final String beanName;
+		private final long started;
+		private long dependencies;
+
+		Creation(String beanName, long started) {
+			this.beanName = beanName;
+			this.started = started;
+		}
+	}
+}
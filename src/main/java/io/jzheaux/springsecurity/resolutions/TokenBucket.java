@@ -0,0 +1,50 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single theoretical arrival time, as in the generic cell rate algorithm,
+ * so that taking a token is one compare-and-set and allocates nothing.
+ */
+final class TokenBucket {
+	private final long interval;
+	private final long tolerance;
+	private final AtomicLong arrival;
+
+	/**
+	 * @param interval nanoseconds it takes to add one token
+	 * @param burst how many tokens the bucket holds
+	 * @param now the current {@link System#nanoTime()}; the bucket starts full
+	 */
+	TokenBucket(long interval, int burst, long now) {
+		this.interval = interval;
+		this.tolerance = (burst - 1) * interval;
+		this.arrival = new AtomicLong(now);
+	}
+
+	/**
+	 * Take a token
+	 *
+	 * @return {@code 0} if a token was taken, otherwise how many nanoseconds until the next one
+	 */
+	long tryTake(long now) {
+		for (;;) {
+			long arrival = this.arrival.get();
+			long earliest = Math.max(arrival, now);
+			long wait = earliest - now - this.tolerance;
+			if (wait > 0) {
+				return wait;
+			}
+			if (this.arrival.compareAndSet(arrival, earliest + this.interval)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Whether the bucket is full, and so no different from a new one
+	 */
+	boolean isFull(long now) {
+		return this.arrival.get() <= now;
+	}
+}
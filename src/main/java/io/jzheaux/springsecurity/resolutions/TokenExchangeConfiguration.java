@@ -0,0 +1,33 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+@Configuration
+@ConditionalOnProperty("resolutions.token-exchange.enabled")
+public class TokenExchangeConfiguration {
+	private final SecretKey key;
+
+	public TokenExchangeConfiguration(TokenExchangeProperties properties) {
+		byte[] secret;
+		if (StringUtils.hasText(properties.getSecret())) {
+			secret = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+		} else {
+			secret = new byte[32];
+			new SecureRandom().nextBytes(secret);
+		}
+		this.key = new SecretKeySpec(secret, "HmacSHA256");
+	}
+
+	@Bean
+	AccessTokenIssuer accessTokenIssuer(TokenExchangeProperties properties) {
+		return new AccessTokenIssuer(this.key, properties.getTimeToLive());
+	}
+}
@@ -0,0 +1,47 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("resolutions.token-exchange")
+public class TokenExchangeProperties {
+	/**
+	 * Whether to exchange an HTTP Basic login at {@code POST /token} for a signed access token
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The HMAC key, at least 32 bytes; when unset, a random key is generated at startup
+	 */
+	private String secret;
+
+	/**
+	 * How long an access token is valid
+	 */
+	private Duration timeToLive = Duration.ofMinutes(5);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getSecret() {
+		return secret;
+	}
+
+	public void setSecret(String secret) {
+		this.secret = secret;
+	}
+
+	public Duration getTimeToLive() {
+		return timeToLive;
+	}
+
+	public void setTimeToLive(Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+}
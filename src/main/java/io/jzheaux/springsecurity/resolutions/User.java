@@ -17,8 +17,10 @@ public class User implements Serializable {
     String password;
     @Column
     boolean enabled = true;
+    @Column(name="authority_mask", nullable=false, columnDefinition="bigint default 0 not null")
+    long authorityMask;
 
-    @OneToMany(fetch= FetchType.EAGER, cascade=CascadeType.ALL)
+    @OneToMany(fetch= FetchType.LAZY, cascade=CascadeType.ALL, mappedBy="user")
     Collection<UserAuthority> userAuthorities = new ArrayList<>();
 
     User() {}
@@ -34,6 +36,7 @@ public class User implements Serializable {
     public void grantAuthority(String authority) {
         UserAuthority userAuthority = new UserAuthority(this, authority);
         this.userAuthorities.add(userAuthority);
+        this.authorityMask |= AuthorityRegistry.DEFAULT.mask(authority);
     }
 
     public void setId(UUID id) {
@@ -54,5 +57,9 @@ public class User implements Serializable {
 
     public void setUserAuthorities(Collection<UserAuthority> userAuthorities) {
         this.userAuthorities = userAuthorities;
+        this.authorityMask = 0;
+        for (UserAuthority userAuthority : userAuthorities) {
+            this.authorityMask |= AuthorityRegistry.DEFAULT.mask(userAuthority.authority);
+        }
     }
 }
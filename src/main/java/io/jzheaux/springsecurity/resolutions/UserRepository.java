@@ -1,10 +1,28 @@
 package io.jzheaux.springsecurity.resolutions;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, UUID> {
+	@Override
+	@EntityGraph(attributePaths="userAuthorities")
+	Iterable<User> findAll();
+
+	@Override
+	@EntityGraph(attributePaths="userAuthorities")
+	Optional<User> findById(UUID id);
+
+	@EntityGraph(attributePaths="userAuthorities")
+	Optional<User> findByUsername(String username);
+
+	@Modifying
+	@Query("UPDATE users SET password = :password WHERE username = :username")
+	int updatePassword(String username, String password);
 }
@@ -0,0 +1,35 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores passwords that Spring Security re-encodes on login because they were encoded with an outdated
+ * algorithm or cost
+ */
+@Component
+public class UserRepositoryPasswordService implements UserDetailsPasswordService {
+	private final UserRepository users;
+	private final Counter upgraded;
+
+	public UserRepositoryPasswordService(UserRepository users, MeterRegistry meters) {
+		this.users = users;
+		this.upgraded = Counter.builder("resolutions.passwords.upgraded")
+				.description("Passwords re-encoded with the target algorithm and cost on login")
+				.register(meters);
+	}
+
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		this.users.updatePassword(user.getUsername(), newPassword);
+		this.upgraded.increment();
+		return org.springframework.security.core.userdetails.User.withUserDetails(user)
+				.password(newPassword)
+				.build();
+	}
+}
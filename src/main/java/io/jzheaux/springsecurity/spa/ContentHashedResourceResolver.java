@@ -0,0 +1,41 @@
+package io.jzheaux.springsecurity.spa;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * Only resolves requests whose path carries the resource's content hash, like {@code jquery.min-<md5>.js},
+ * so that a handler using this resolver can mark everything it serves as immutable.
+ *
+ * Place it after any {@link org.springframework.web.servlet.resource.EncodedResourceResolver} and before the
+ * {@link org.springframework.web.servlet.resource.VersionResourceResolver} that strips the hash.
+ */
+public class ContentHashedResourceResolver extends AbstractResourceResolver {
+	private final ContentVersionStrategy versions = new ContentVersionStrategy();
+
+	@Override
+	protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+		String version = this.versions.extractVersion(requestPath);
+		if (version == null) {
+			return null;
+		}
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || !version.equals(this.versions.getResourceVersion(resource))) {
+			return null;
+		}
+		return resource;
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+}
@@ -0,0 +1,44 @@
+package io.jzheaux.springsecurity.spa;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites local {@code src} and {@code href} links in HTML pages to their public, content-hashed, URLs.
+ *
+ * Modeled on {@link org.springframework.web.servlet.resource.CssLinkResourceTransformer}.
+ */
+public class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+	private static final Pattern LINK = Pattern.compile("\\b(src|href)=\"(/(?!/)[^\"]*)\"");
+
+	@Override
+	public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+			throws IOException {
+		resource = chain.transform(request, resource);
+		if (!"html".equals(StringUtils.getFilenameExtension(resource.getFilename()))) {
+			return resource;
+		}
+
+		String content = new String(FileCopyUtils.copyToByteArray(resource.getInputStream()), StandardCharsets.UTF_8);
+		Matcher links = LINK.matcher(content);
+		StringBuffer transformed = new StringBuffer(content.length());
+		while (links.find()) {
+			String link = links.group(2);
+			String resolved = resolveUrlPath(link, request, resource, chain);
+			String replacement = links.group(1) + "=\"" + (resolved != null ? resolved : link) + "\"";
+			links.appendReplacement(transformed, Matcher.quoteReplacement(replacement));
+		}
+		links.appendTail(transformed);
+		return new TransformedResource(resource, transformed.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
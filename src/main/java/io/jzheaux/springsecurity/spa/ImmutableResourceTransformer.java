@@ -0,0 +1,131 @@
+package io.jzheaux.springsecurity.spa;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Adds the {@code immutable} directive, which {@link CacheControl} has no method for, to the handler's
+ * {@code Cache-Control}.
+ *
+ * The resource handler writes its own {@code Cache-Control} first and the resource's headers after, so this
+ * transformer repeats the handler's {@link CacheControl} in the header that it attaches to each resource. Only
+ * register it on a handler whose URLs change whenever their content does.
+ */
+public class ImmutableResourceTransformer implements ResourceTransformer {
+	private final String cacheControl;
+
+	public ImmutableResourceTransformer(CacheControl cacheControl) {
+		Assert.notNull(cacheControl, "cacheControl cannot be null");
+		this.cacheControl = cacheControl.getHeaderValue() + ", immutable";
+	}
+
+	@Override
+	public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+			throws IOException {
+		return new ImmutableResource(chain.transform(request, resource), this.cacheControl);
+	}
+
+	private static final class ImmutableResource implements HttpResource {
+		private final Resource resource;
+		private final String cacheControl;
+
+		ImmutableResource(Resource resource, String cacheControl) {
+			this.resource = resource;
+			this.cacheControl = cacheControl;
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			if (this.resource instanceof HttpResource) {
+				// for example, the Content-Encoding of a pre-compressed copy
+				headers.putAll(((HttpResource) this.resource).getResponseHeaders());
+			}
+			headers.setCacheControl(this.cacheControl);
+			return headers;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.resource.getInputStream();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.resource.exists();
+		}
+
+		@Override
+		public boolean isReadable() {
+			return this.resource.isReadable();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return this.resource.isOpen();
+		}
+
+		@Override
+		public boolean isFile() {
+			return this.resource.isFile();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.resource.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.resource.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.resource.getFile();
+		}
+
+		@Override
+		public ReadableByteChannel readableChannel() throws IOException {
+			return this.resource.readableChannel();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.resource.contentLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.resource.lastModified();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.resource.createRelative(relativePath);
+		}
+
+		@Override
+		public String getFilename() {
+			return this.resource.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.resource.getDescription();
+		}
+	}
+}
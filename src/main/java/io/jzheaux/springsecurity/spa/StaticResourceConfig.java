@@ -0,0 +1,59 @@
+package io.jzheaux.springsecurity.spa;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves pages so that browsers revalidate them with an {@code ETag}, and everything they link to under
+ * content-hashed URLs that browsers can cache indefinitely. Vendor scripts are only served under those URLs,
+ * so the long-lived {@code Cache-Control} never applies to a mutable or missing resource.
+ *
+ * The vendor scripts are unpacked from their webjars at build time, along with {@code .gz} and {@code .br} copies;
+ * the build fails if {@code gzip} or {@code brotli} isn't installed.
+ */
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE) // register "/**" ahead of Spring Boot's default static resource handler
+public class StaticResourceConfig implements WebMvcConfigurer {
+	static final CacheControl LONG_LIVED = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic();
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		registry.addResourceHandler("/*.html")
+				.addResourceLocations("classpath:/static/")
+				.setCacheControl(CacheControl.noCache())
+				.resourceChain(true)
+				.addTransformer(new HtmlLinkResourceTransformer());
+		registry.addResourceHandler("/vendor/**")
+				.addResourceLocations("classpath:/static/vendor/")
+				.setCacheControl(LONG_LIVED)
+				.resourceChain(true)
+				.addResolver(new EncodedResourceResolver())
+				.addResolver(new ContentHashedResourceResolver())
+				.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+				.addTransformer(new ImmutableResourceTransformer(LONG_LIVED));
+		registry.addResourceHandler("/**")
+				.addResourceLocations("classpath:/static/")
+				.resourceChain(true)
+				.addResolver(new EncodedResourceResolver())
+				.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+	}
+
+	@Bean
+	FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+		FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+				new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+		registration.addUrlPatterns("*.html");
+		return registration;
+	}
+}
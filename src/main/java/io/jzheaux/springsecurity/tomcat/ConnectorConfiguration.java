@@ -0,0 +1,81 @@
+package io.jzheaux.springsecurity.tomcat;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link ConnectorProperties} to the Tomcat connector of whichever application is running.
+ *
+ * Registered in {@code META-INF/spring.factories} so that all three applications pick it up.
+ * Spring Boot only adds HTTP/2 alongside TLS, so {@code h2c} adds it here for cleartext connectors.
+ *
+ * With {@code virtual-threads}, each request gets its own virtual thread, so blocking calls no longer
+ * tie up one of {@code server.tomcat.max-threads}; concurrency is then bounded by
+ * {@code server.tomcat.max-connections} and, for most requests, by the connection pool.
+ */
+@Configuration
+@ConditionalOnClass(Http2Protocol.class)
+@ConditionalOnWebApplication(type=ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ConnectorProperties.class)
+public class ConnectorConfiguration {
+	private static final Log logger = LogFactory.getLog(ConnectorConfiguration.class);
+
+	@Bean
+	TomcatConnectorCustomizer sharedConnectorCustomizer(ConnectorProperties properties) {
+		return connector -> customize(connector, properties);
+	}
+
+	static void customize(Connector connector, ConnectorProperties properties) {
+		if (properties.isH2c() && http2(connector) == null) {
+			connector.addUpgradeProtocol(new Http2Protocol());
+		}
+
+		ProtocolHandler handler = connector.getProtocolHandler();
+		if (handler instanceof AbstractHttp11Protocol) {
+			AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) handler;
+			if (properties.getKeepAliveTimeout() != null) {
+				protocol.setKeepAliveTimeout((int) properties.getKeepAliveTimeout().toMillis());
+			}
+			if (properties.getMaxKeepAliveRequests() != null) {
+				protocol.setMaxKeepAliveRequests(properties.getMaxKeepAliveRequests());
+			}
+			if (properties.isVirtualThreads()) {
+				if (VirtualThreads.isSupported()) {
+					protocol.setExecutor(VirtualThreads.newExecutor("http-" + connector.getPort() + "-"));
+				} else {
+					logger.warn("Virtual threads need JDK 21 or later; handling requests with the thread pool instead");
+				}
+			}
+		}
+
+		Http2Protocol http2 = http2(connector);
+		if (http2 != null) {
+			if (properties.getKeepAliveTimeout() != null) {
+				http2.setKeepAliveTimeout(properties.getKeepAliveTimeout().toMillis());
+			}
+			if (properties.getMaxConcurrentStreams() != null) {
+				http2.setMaxConcurrentStreams(properties.getMaxConcurrentStreams());
+			}
+		}
+	}
+
+	private static Http2Protocol http2(Connector connector) {
+		for (UpgradeProtocol upgrade : connector.findUpgradeProtocols()) {
+			if (upgrade instanceof Http2Protocol) {
+				return (Http2Protocol) upgrade;
+			}
+		}
+		return null;
+	}
+}
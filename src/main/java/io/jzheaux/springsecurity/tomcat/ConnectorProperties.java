@@ -0,0 +1,77 @@
+package io.jzheaux.springsecurity.tomcat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connector settings shared by all of the embedded servers that Spring Boot doesn't already expose under
+ * {@code server.tomcat}; unset values keep Tomcat's defaults
+ */
+@ConfigurationProperties("resolutions.connector")
+public class ConnectorProperties {
+	/**
+	 * Whether to accept cleartext HTTP/2, either by upgrade or with prior knowledge
+	 */
+	private boolean h2c = false;
+
+	/**
+	 * Whether to handle requests on virtual threads instead of a thread pool, when the JDK supports it
+	 */
+	private boolean virtualThreads = false;
+
+	/**
+	 * How long to keep an idle connection open for its next request, over either protocol
+	 */
+	private Duration keepAliveTimeout;
+
+	/**
+	 * How many requests a single HTTP/1.1 connection may serve before it is closed; -1 for no limit
+	 */
+	private Integer maxKeepAliveRequests;
+
+	/**
+	 * How many streams a single HTTP/2 connection may have open at once
+	 */
+	private Integer maxConcurrentStreams;
+
+	public boolean isH2c() {
+		return h2c;
+	}
+
+	public void setH2c(boolean h2c) {
+		this.h2c = h2c;
+	}
+
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	public Duration getKeepAliveTimeout() {
+		return keepAliveTimeout;
+	}
+
+	public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+		this.keepAliveTimeout = keepAliveTimeout;
+	}
+
+	public Integer getMaxKeepAliveRequests() {
+		return maxKeepAliveRequests;
+	}
+
+	public void setMaxKeepAliveRequests(Integer maxKeepAliveRequests) {
+		this.maxKeepAliveRequests = maxKeepAliveRequests;
+	}
+
+	public Integer getMaxConcurrentStreams() {
+		return maxConcurrentStreams;
+	}
+
+	public void setMaxConcurrentStreams(Integer maxConcurrentStreams) {
+		this.maxConcurrentStreams = maxConcurrentStreams;
+	}
+}
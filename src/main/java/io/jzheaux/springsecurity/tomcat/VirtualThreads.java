@@ -0,0 +1,47 @@
+package io.jzheaux.springsecurity.tomcat;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executors that start a virtual thread per task, when the running JDK has them.
+ *
+ * The application still targets Java 8, so the JDK 21 API is called reflectively.
+ */
+public final class VirtualThreads {
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		try {
+			threadFactory("probe-");
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * An executor that runs each task on its own virtual thread, named with {@code prefix} and a counter
+	 *
+	 * @throws IllegalStateException if the running JDK doesn't have virtual threads
+	 */
+	public static ExecutorService newExecutor(String prefix) {
+		try {
+			Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory(prefix));
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			throw new IllegalStateException("Virtual threads need JDK 21 or later; this is " +
+					System.getProperty("java.version"), e);
+		}
+	}
+
+	private static ThreadFactory threadFactory(String prefix) throws ReflectiveOperationException {
+		Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+		Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+		builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+		return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+	}
+}
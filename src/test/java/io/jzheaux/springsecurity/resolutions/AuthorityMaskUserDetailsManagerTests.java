@@ -0,0 +1,85 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties="resolutions.authorities.compact=true")
+@Import(StatementCounter.Config.class)
+public class AuthorityMaskUserDetailsManagerTests {
+	@Autowired
+	UserDetailsService userDetailsService;
+
+	@Autowired
+	StatementCounter statements;
+
+	@Autowired
+	AuthorityMaskMigration migration;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	@Test
+	public void loadUserByUsernameWhenCompactThenOneQuery() {
+		assertTrue(this.userDetailsService instanceof AuthorityMaskUserDetailsManager);
+
+		this.statements.reset();
+		UserDetails user = this.userDetailsService.loadUserByUsername("user");
+
+		assertEquals(AuthorityUtils.createAuthorityList("resolution:read", "resolution:write"),
+				new ArrayList<>(user.getAuthorities()));
+		this.statements.assertAtMost(1, "loadUserByUsername");
+	}
+
+	@Test(expected = UsernameNotFoundException.class)
+	public void loadUserByUsernameWhenMissingThenUsernameNotFound() {
+		this.userDetailsService.loadUserByUsername("missing");
+	}
+
+	@Test
+	public void loadUserByUsernameWhenCreatedBeforeMaskThenBackfilled() {
+		this.jdbc.update("INSERT INTO users (id, username, password, enabled) VALUES (?, ?, ?, ?)",
+				UUID.randomUUID(), "legacy", "{noop}password", true);
+		this.jdbc.update("INSERT INTO authorities (id, authority, username) VALUES (?, ?, ?)",
+				UUID.randomUUID(), "resolution:read", "legacy");
+		try {
+			assertEquals(1, this.migration.backfill());
+
+			UserDetails user = this.userDetailsService.loadUserByUsername("legacy");
+			assertEquals(AuthorityUtils.createAuthorityList("resolution:read"), new ArrayList<>(user.getAuthorities()));
+		} finally {
+			this.jdbc.update("DELETE FROM authorities WHERE username = ?", "legacy");
+			this.jdbc.update("DELETE FROM users WHERE username = ?", "legacy");
+		}
+	}
+
+	@Test
+	public void verifyWhenUnregisteredAuthorityThenException() {
+		this.jdbc.update("INSERT INTO authorities (id, authority, username) VALUES (?, ?, ?)",
+				UUID.randomUUID(), "ROLE_ADMIN", "user");
+		try {
+			this.migration.verify();
+			fail("expected compact mode to reject ROLE_ADMIN");
+		} catch (IllegalStateException expected) {
+			assertTrue(expected.getMessage().contains("ROLE_ADMIN"));
+		} finally {
+			this.jdbc.update("DELETE FROM authorities WHERE authority = ?", "ROLE_ADMIN");
+		}
+	}
+}
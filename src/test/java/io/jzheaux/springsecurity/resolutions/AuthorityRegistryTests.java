@@ -0,0 +1,90 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AuthorityRegistryTests {
+	AuthorityRegistry registry = new AuthorityRegistry("resolution:read", "resolution:write", "user:read");
+
+	@Test
+	public void authoritiesWhenMaskThenMatchingAuthorities() {
+		long mask = this.registry.mask(Arrays.asList("resolution:read", "user:read"));
+
+		assertEquals(Arrays.asList(new SimpleGrantedAuthority("resolution:read"), new SimpleGrantedAuthority("user:read")),
+				new ArrayList<>(this.registry.authorities(mask)));
+	}
+
+	@Test
+	public void authoritiesWhenSameMaskThenSameInstances() {
+		List<GrantedAuthority> first = this.registry.authorities(this.registry.mask("resolution:write"));
+		List<GrantedAuthority> second = this.registry.authorities(Arrays.asList("resolution:write"));
+
+		assertSame(first, second);
+	}
+
+	@Test
+	public void authorityWhenCalledRepeatedlyThenSameInstance() {
+		assertSame(this.registry.authority("resolution:read"), this.registry.authority("resolution:read"));
+		assertSame(this.registry.authority("admin"), this.registry.authority("admin"));
+		assertSame(this.registry.authority("resolution:read"),
+				this.registry.authorities(this.registry.mask("resolution:read")).iterator().next());
+	}
+
+	@Test
+	public void authoritiesWhenRegisteredAndUnregisteredThenBothCanonical() {
+		List<GrantedAuthority> authorities = this.registry.authorities(Arrays.asList("resolution:read", "admin"));
+
+		assertEquals(2, authorities.size());
+		assertSame(this.registry.authority("resolution:read"), authorities.get(0));
+		assertSame(this.registry.authority("admin"), authorities.get(1));
+		assertFalse(authorities.contains(new SimpleGrantedAuthority("resolution:write")));
+	}
+
+	@Test
+	public void maskWhenUnregisteredThenZero() {
+		assertEquals(0, this.registry.mask("admin"));
+		assertTrue(this.registry.authorities(0).isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void authoritiesWhenUnknownBitsThenException() {
+		this.registry.authorities(1L << 3);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void authoritiesWhenModifiedThenException() {
+		GrantedAuthority admin = new SimpleGrantedAuthority("admin");
+		this.registry.authorities(0).add(admin);
+	}
+
+	@Test
+	public void loadUserByUsernameWhenNotCompactThenSharedInstances() {
+		JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:registry;DB_CLOSE_DELAY=-1"));
+		jdbc.execute("CREATE TABLE users (username VARCHAR(50), password VARCHAR(500), enabled BOOLEAN)");
+		jdbc.execute("CREATE TABLE authorities (username VARCHAR(50), authority VARCHAR(50))");
+		try {
+			jdbc.update("INSERT INTO users VALUES ('user', '{noop}password', true)");
+			jdbc.update("INSERT INTO authorities VALUES ('user', 'resolution:read')");
+			UserDetailsService users = new ResolutionsApplication().userDetailsService(jdbc.getDataSource(), false);
+
+			GrantedAuthority authority = users.loadUserByUsername("user").getAuthorities().iterator().next();
+			assertSame(AuthorityRegistry.DEFAULT.authority("resolution:read"), authority);
+		} finally {
+			jdbc.execute("DROP TABLE authorities");
+			jdbc.execute("DROP TABLE users");
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class CachingJwtDecoderTests {
+	Instant now = Instant.parse("2020-01-01T00:00:00Z");
+
+	@Test
+	public void decodeWhenSameTokenThenDelegatesOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		JwtDecoder delegate = token -> {
+			calls.incrementAndGet();
+			return jwt(token, this.now.plusSeconds(300));
+		};
+		CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10);
+		decoder.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		decoder.setValidator(timestamps(this.now));
+
+		Jwt first = decoder.decode("token");
+		Jwt second = decoder.decode("token");
+
+		assertSame(first, second);
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void decodeWhenCachedTokenExpiredThenDelegatesAgain() {
+		AtomicInteger calls = new AtomicInteger();
+		JwtDecoder delegate = token -> {
+			calls.incrementAndGet();
+			return jwt(token, this.now.plusSeconds(60));
+		};
+		CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10);
+		decoder.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		decoder.setValidator(jwt -> OAuth2TokenValidatorResult.success());
+		decoder.decode("token");
+
+		decoder.setClock(Clock.fixed(this.now.plusSeconds(61), ZoneOffset.UTC));
+		decoder.decode("token");
+
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void decodeWhenCachedTokenFailsValidationThenThrows() {
+		CachingJwtDecoder decoder = new CachingJwtDecoder(token -> jwt(token, this.now.plusSeconds(300)), 10);
+		decoder.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+		decoder.decode("token");
+
+		decoder.setValidator(jwt -> OAuth2TokenValidatorResult.failure(
+				new OAuth2Error("invalid_token", "nope", null)));
+		try {
+			decoder.decode("token");
+			fail("expected the cached token to be re-validated");
+		} catch (JwtValidationException expected) {
+		}
+	}
+
+	@Test
+	public void decodeWhenFullThenStaysBounded() {
+		CachingJwtDecoder decoder = new CachingJwtDecoder(token -> jwt(token, this.now.plusSeconds(300)), 2);
+		decoder.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+
+		decoder.decode("one");
+		decoder.decode("two");
+		decoder.decode("three");
+
+		assertEquals(2, decoder.size());
+	}
+
+	JwtTimestampValidator timestamps(Instant at) {
+		JwtTimestampValidator validator = new JwtTimestampValidator();
+		validator.setClock(Clock.fixed(at, ZoneOffset.UTC));
+		return validator;
+	}
+
+	Jwt jwt(String token, Instant expiresAt) {
+		return Jwt.withTokenValue(token)
+				.header("alg", "RS256")
+				.subject("user")
+				.issuedAt(this.now)
+				.expiresAt(expiresAt)
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.RANDOM_PORT, properties={
+		"server.compression.enabled=true",
+		"server.compression.mime-types=application/json,application/cbor",
+		"server.compression.min-response-size=0",
+		"resolutions.seed.users=10",
+		"resolutions.seed.resolutions-per-user=10" })
+public class ContentNegotiationTests {
+	@Autowired
+	MockMvc mvc;
+
+	@LocalServerPort
+	int port;
+
+	@Test
+	public void readWhenAcceptCborThenCbor() throws Exception {
+		byte[] body = this.mvc.perform(get("/resolutions").accept("application/cbor").with(httpBasic("user", "password")))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/cbor"))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		List<?> resolutions = new ObjectMapper(new CBORFactory()).readValue(body, List.class);
+		assertFalse(resolutions.isEmpty());
+	}
+
+	@Test
+	public void readWhenAcceptGzipThenCompressed() throws Exception {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + this.port + "/resolutions").openConnection();
+		connection.setRequestProperty("Accept-Encoding", "gzip");
+		connection.setRequestProperty("Authorization", "Basic " +
+				Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8)));
+		try {
+			assertEquals(200, connection.getResponseCode());
+			assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+		} finally {
+			connection.disconnect();
+		}
+	}
+}
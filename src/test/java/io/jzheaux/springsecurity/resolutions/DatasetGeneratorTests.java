@@ -0,0 +1,66 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DatasetGeneratorTests {
+	@Test
+	public void sampleWhenSameSeedThenSameOwners() {
+		DatasetGenerator.ZipfDistribution owners = new DatasetGenerator.ZipfDistribution(100, 1.0);
+
+		assertArrayEquals(sample(owners, new SplittableRandom(42), 1000),
+				sample(owners, new SplittableRandom(42), 1000));
+	}
+
+	@Test
+	public void sampleWhenSkewedThenLowRanksDominate() {
+		DatasetGenerator.ZipfDistribution owners = new DatasetGenerator.ZipfDistribution(100, 1.0);
+		int[] counts = new int[100];
+		for (int owner : sample(owners, new SplittableRandom(7), 100000)) {
+			counts[owner]++;
+		}
+
+		assertTrue(counts[0] > 10 * counts[99]);
+	}
+
+	@Test
+	public void sampleWhenNoSkewThenEvenlySpread() {
+		DatasetGenerator.ZipfDistribution owners = new DatasetGenerator.ZipfDistribution(10, 0);
+		int[] counts = new int[10];
+		for (int owner : sample(owners, new SplittableRandom(7), 100000)) {
+			counts[owner]++;
+		}
+
+		for (int count : counts) {
+			assertTrue(Math.abs(count - 10000) < 1000);
+		}
+	}
+
+	@Test
+	public void modifiedWhenSameSeedThenSameInstantsWithinSpan() {
+		SplittableRandom first = new SplittableRandom(42);
+		SplittableRandom second = new SplittableRandom(42);
+		Instant until = DatasetGenerator.MODIFIED_FROM.plus(DatasetGenerator.MODIFIED_SPAN);
+		for (int i = 0; i < 1000; i++) {
+			Instant modified = DatasetGenerator.modified(first);
+			assertEquals(modified, DatasetGenerator.modified(second));
+			assertFalse(modified.isBefore(DatasetGenerator.MODIFIED_FROM));
+			assertTrue(modified.isBefore(until));
+		}
+	}
+
+	int[] sample(DatasetGenerator.ZipfDistribution distribution, SplittableRandom random, int count) {
+		int[] samples = new int[count];
+		for (int i = 0; i < count; i++) {
+			samples[i] = distribution.sample(random);
+		}
+		return samples;
+	}
+}
@@ -0,0 +1,65 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FailedLoginTrackerTests {
+	static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+	AtomicLong now = new AtomicLong(100 * MINUTE);
+
+	@Test
+	public void blockedForWhenFailuresSlideOutOfWindowThenAllowed() {
+		FailedLoginTracker tracker = new FailedLoginTracker(3, 10 * MINUTE, 100, this.now::get);
+		tracker.failed("user");
+		this.now.addAndGet(4 * MINUTE);
+		tracker.failed("user");
+		tracker.failed("user");
+		assertEquals(6 * MINUTE, tracker.blockedFor("user"));
+
+		this.now.addAndGet(6 * MINUTE);
+		assertEquals(0, tracker.blockedFor("user"));
+		tracker.failed("user");
+		assertEquals(4 * MINUTE, tracker.blockedFor("user"));
+	}
+
+	@Test
+	public void blockedForWhenFewerFailuresThanMaximumThenAllowed() {
+		FailedLoginTracker tracker = new FailedLoginTracker(3, 10 * MINUTE, 100, this.now::get);
+		tracker.failed("user");
+		tracker.failed("user");
+		assertEquals(0, tracker.blockedFor("user"));
+		assertEquals(0, tracker.blockedFor("other"));
+	}
+
+	@Test
+	public void failedWhenFullThenForgetsExpiredKeysFirst() {
+		FailedLoginTracker tracker = new FailedLoginTracker(1, 10 * MINUTE, 2, this.now::get);
+		tracker.failed("old");
+		this.now.addAndGet(20 * MINUTE);
+		tracker.failed("recent");
+		tracker.failed("new");
+		assertTrue(tracker.blockedFor("recent") > 0);
+		assertTrue(tracker.blockedFor("new") > 0);
+	}
+
+	@Test
+	public void failedWhenFullOfLiveKeysThenForgetsOldestNotVictim() {
+		FailedLoginTracker tracker = new FailedLoginTracker(1, 10 * MINUTE, 10, this.now::get);
+		for (int i = 0; i < 9; i++) {
+			tracker.failed("spray" + i);
+		}
+		tracker.failed("victim");
+
+		for (int i = 9; i < 18; i++) {
+			tracker.failed("spray" + i);
+		}
+		assertTrue(tracker.blockedFor("victim") > 0);
+		assertEquals(0, tracker.blockedFor("spray0"));
+	}
+}
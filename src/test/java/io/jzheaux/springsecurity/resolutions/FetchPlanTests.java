@@ -0,0 +1,58 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class FetchPlanTests {
+	@Autowired
+	UserRepository users;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Test
+	public void lazyLoadingOutsideOfTransactionsIsDisabled() {
+		Object enabled = this.entityManagerFactory.getProperties().get("hibernate.enable_lazy_load_no_trans");
+		assertEquals("false", String.valueOf(enabled));
+	}
+
+	@Test
+	public void findByUsernameWhenOutsideOfTransactionThenAuthoritiesAreFetched() {
+		User user = this.users.findByUsername("user").get();
+		assertTrue(Hibernate.isInitialized(user.userAuthorities));
+		assertEquals(2, user.getUserAuthorities().size());
+	}
+
+	@Test
+	public void findAllWhenOutsideOfTransactionThenAuthoritiesAreFetched() {
+		for (User user : this.users.findAll()) {
+			assertTrue(Hibernate.isInitialized(user.userAuthorities));
+		}
+	}
+
+	@Test(expected = LazyInitializationException.class)
+	public void authoritiesWhenNotFetchedAndOutsideOfTransactionThenFails() {
+		EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+		User user;
+		try {
+			user = entityManager.createQuery("SELECT u FROM users u WHERE u.username = 'user'", User.class)
+					.getSingleResult();
+		} finally {
+			entityManager.close();
+		}
+		user.getUserAuthorities().size();
+	}
+}
@@ -0,0 +1,125 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LazyJwtDecoderTests {
+	JwtDecoder resolved = token -> Jwt.withTokenValue(token)
+			.header("alg", "RS256")
+			.subject("user")
+			.expiresAt(Instant.now().plusSeconds(60))
+			.build();
+
+	@Test
+	public void constructWhenCreatedThenDoesNotDiscover() {
+		AtomicInteger calls = new AtomicInteger();
+		new LazyJwtDecoder(() -> {
+			calls.incrementAndGet();
+			return this.resolved;
+		}, 3, Duration.ZERO);
+
+		assertEquals(0, calls.get());
+	}
+
+	@Test
+	public void decodeWhenCalledRepeatedlyThenDiscoversOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		LazyJwtDecoder decoder = new LazyJwtDecoder(() -> {
+			calls.incrementAndGet();
+			return this.resolved;
+		}, 3, Duration.ZERO);
+		decoder.setExecutor(Runnable::run);
+
+		assertNotNull(decoder.decode("one"));
+		assertNotNull(decoder.decode("two"));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void decodeWhenDiscoveryFailsThenRetriesUpToMaxAttempts() {
+		AtomicInteger calls = new AtomicInteger();
+		LazyJwtDecoder decoder = new LazyJwtDecoder(() -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new IllegalArgumentException("unreachable");
+			}
+			return this.resolved;
+		}, 3, Duration.ZERO);
+		decoder.setExecutor(Runnable::run);
+
+		assertNotNull(decoder.decode("token"));
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void decodeWhenDiscoveryKeepsFailingThenFailsFastUntilBackoffElapses() {
+		AtomicInteger calls = new AtomicInteger();
+		LazyJwtDecoder decoder = new LazyJwtDecoder(() -> {
+			calls.incrementAndGet();
+			throw new IllegalArgumentException("unreachable");
+		}, 2, Duration.ofMillis(10));
+		decoder.setClock(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+		decoder.setExecutor(Runnable::run);
+
+		decoder.warmUp();
+		assertEquals(2, calls.get());
+		assertFalse(decoder.isAvailable());
+		try {
+			decoder.decode("token");
+			fail("expected decoder to be unavailable");
+		} catch (JwtDecoderUnavailableException expected) {
+			assertEquals(Duration.ofMillis(10), expected.getRetryAfter());
+		}
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void decodeWhenDiscoveryIsSlowThenFailsFastAndResolvesInBackground() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		LazyJwtDecoder decoder = new LazyJwtDecoder(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return this.resolved;
+		}, 3, Duration.ZERO);
+
+		long start = System.nanoTime();
+		try {
+			decoder.decode("token");
+			fail("expected decoder to be unavailable");
+		} catch (JwtException expected) {
+		}
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+		release.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (true) {
+			try {
+				assertNotNull(decoder.decode("token"));
+				return;
+			} catch (JwtException e) {
+				if (System.nanoTime() > deadline) {
+					throw e;
+				}
+				Thread.sleep(10);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={
+		"resolutions.login-throttle.enabled=true",
+		"resolutions.login-throttle.window=1m",
+		"resolutions.login-throttle.max-failures-per-username=2",
+		"resolutions.login-throttle.max-failures-per-address=4" })
+public class LoginThrottleTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	MeterRegistry meters;
+
+	@SpyBean
+	UserDetailsService users;
+
+	@Test
+	public void loginWhenUsernameFailedTooOftenThenRejectedBeforeLookup() throws Exception {
+		double before = rejected("username");
+		login("hasread", "wrong", "10.0.0.1").andExpect(status().isUnauthorized());
+		login("hasread", "wrong", "10.0.0.2").andExpect(status().isUnauthorized());
+
+		clearInvocations(this.users);
+		login("hasread", "password", "10.0.0.3")
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "60"));
+		verify(this.users, never()).loadUserByUsername(anyString());
+		assertEquals(before + 1, rejected("username"), 0);
+	}
+
+	@Test
+	public void loginWhenAddressFailedTooOftenThenRejectedForEveryUsername() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			login("nobody" + i, "wrong", "10.0.1.1").andExpect(status().isUnauthorized());
+		}
+		login("user", "password", "10.0.1.1").andExpect(status().isTooManyRequests());
+		login("user", "password", "10.0.1.2").andExpect(status().isOk());
+	}
+
+	@Test
+	public void loginWhenSucceededThenUsernameFailuresCleared() throws Exception {
+		login("haswrite", "wrong", "10.0.2.1").andExpect(status().isUnauthorized());
+		login("haswrite", "password", "10.0.2.1").andExpect(status().isForbidden());
+		login("haswrite", "wrong", "10.0.2.1").andExpect(status().isUnauthorized());
+		login("haswrite", "password", "10.0.2.1").andExpect(status().isForbidden());
+	}
+
+	private ResultActions login(String username, String password, String address) throws Exception {
+		return this.mvc.perform(get("/resolutions").with(httpBasic(username, password)).with(from(address)));
+	}
+
+	private static RequestPostProcessor from(String address) {
+		return request -> {
+			request.setRemoteAddr(address);
+			return request;
+		};
+	}
+
+	private double rejected(String key) {
+		return this.meters.counter("resolutions.login-throttle.rejected", "key", key).count();
+	}
+}
@@ -398,12 +398,12 @@ public class Module2_Tests {
 
 		SecurityContextHolder.getContext().setAuthentication(this.hasread);
 		try {
-			Iterable<Resolution> resolutions = this.controller.read();
+			Iterable<ResolutionSummary> resolutions = this.controller.read();
 			assertTrue(
 					"Task 4: Calling `ResolutionController#read()` returned no results. " +
 							"Make sure that your filter is keeping records whose owner matches the logged in user.",
 					resolutions.iterator().hasNext());
-			for (Resolution resolution : resolutions) {
+			for (ResolutionSummary resolution : resolutions) {
 				assertEquals(
 						"Task 4: One of the resolutions returned from RepositoryController#read() " +
 								"did not belong to the logged-in user. Make sure that your `@PostFilter` " +
@@ -524,7 +524,7 @@ public class Module2_Tests {
 		Authentication admin = token("admin");
 		AccessDeniedException e = tryAuthorized(() -> {
 			List<UUID> resolutions = StreamSupport.stream(this.controller.read().spliterator(), false)
-					.map(Resolution::getId).collect(Collectors.toList());
+					.map(ResolutionSummary::getId).collect(Collectors.toList());
 			List<UUID> all = StreamSupport.stream(this.repository.findAll().spliterator(), false)
 					.map(Resolution::getId).collect(Collectors.toList());
 			assertEquals(
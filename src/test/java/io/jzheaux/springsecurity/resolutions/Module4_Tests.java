@@ -327,8 +327,8 @@ public class Module4_Tests {
         Authentication authentication = getAuthentication(token);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         try {
-            Iterable<Resolution> resolutions = this.resolutionController.read();
-            for (Resolution resolution : resolutions) {
+            Iterable<ResolutionSummary> resolutions = this.resolutionController.read();
+            for (ResolutionSummary resolution : resolutions) {
                 assertTrue(
                         "Task 4: Please update the `/resolutions` endpoint to query the `UserRepository` for the user's personal name. " +
                                 "Then, append that to the end of the `text` value in each `Resolution` returned",
@@ -350,8 +350,8 @@ public class Module4_Tests {
         Authentication authentication = getAuthentication(token);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         try {
-            Iterable<Resolution> resolutions = this.resolutionController.read();
-            for (Resolution resolution : resolutions) {
+            Iterable<ResolutionSummary> resolutions = this.resolutionController.read();
+            for (ResolutionSummary resolution : resolutions) {
                 assertFalse(
                         "Task 5: The `/resolution` endpoint appended the user's personal name, even though that permission " +
                                 "was not granted to the client.",
@@ -360,7 +360,7 @@ public class Module5_Tests {
         SecurityContextHolder.getContext().setAuthentication(token);
         try {
             Collection<String> texts = StreamSupport.stream(this.resolutionController.read().spliterator(), false)
-                    .map(Resolution::getText).collect(Collectors.toList());
+                    .map(ResolutionSummary::getText).collect(Collectors.toList());
             assertTrue(
                     "Task 5: Even though `haswrite` shared a `Resolution` with `hasread`, `hasread` doesn't have it or its getting filtered out. " +
                             "Make sure that you are sending the correct username to `ResolutionController#make",
@@ -385,8 +385,8 @@ public class Module5_Tests {
                 (hasread, hasread, AuthorityUtils.createAuthorityList("resolution:read", "user:read"));
         SecurityContextHolder.getContext().setAuthentication(token);
         try {
-            Iterable<Resolution> resolutions = this.resolutionController.read();
-            for (Resolution hasReadResolutions : resolutions) {
+            Iterable<ResolutionSummary> resolutions = this.resolutionController.read();
+            for (ResolutionSummary hasReadResolutions : resolutions) {
                 assertNotEquals(
                     "Task 5: A user with the `resolution:share` authority was able to share a resolution that wasn't theirs.",
                     "user's latest resolution", hasReadResolutions.getText());
@@ -347,12 +347,12 @@ public class Module6_Tests {
 		Authentication authentication = getAuthentication(token);
 		SecurityContextHolder.getContext().setAuthentication(authentication);
 		try {
-			Iterable<Resolution> resolutions = this.resolutionController.read();
+			Iterable<ResolutionSummary> resolutions = this.resolutionController.read();
 			assertTrue(
 					"Task 4: It appears that `ResolutionController` is not calling `UserService`. " +
 							"Make sure to switch `UserRepository` with `UserService`",
 					this.userEndpoint.getRequestCount() > count);
-			for (Resolution resolution : resolutions) {
+			for (ResolutionSummary resolution : resolutions) {
 				assertTrue(
 						"Task 4: The `/resolutions` endpoint didn't append the user's personal name in the reslution text.",
 						resolution.getText().endsWith("User Userson"));
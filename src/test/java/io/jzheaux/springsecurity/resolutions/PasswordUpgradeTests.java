@@ -0,0 +1,62 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties="resolutions.passwords.bcrypt-strength=11")
+public class PasswordUpgradeTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UserRepository users;
+
+	@Test
+	public void loginWhenOtherAlgorithmThenReencodedWithTarget() throws Exception {
+		save("upgradenoop", "{noop}password");
+
+		login("upgradenoop");
+		String upgraded = password("upgradenoop");
+		assertTrue(upgraded, upgraded.startsWith("{bcrypt}$2a$11$"));
+
+		login("upgradenoop");
+		assertEquals(upgraded, password("upgradenoop"));
+	}
+
+	@Test
+	public void loginWhenLowerCostThenReencodedWithTarget() throws Exception {
+		save("upgradecost", "{bcrypt}$2a$10$MywQEqdZFNIYnx.Ro/VQ0ulanQAl34B5xVjK2I/SDZNVGS5tHQ08W");
+
+		login("upgradecost");
+		assertTrue(password("upgradecost").startsWith("{bcrypt}$2a$11$"));
+	}
+
+	private void save(String username, String password) {
+		User user = new User(username, password);
+		user.grantAuthority("resolution:read");
+		this.users.save(user);
+	}
+
+	private void login(String username) throws Exception {
+		this.mvc.perform(get("/resolutions").with(httpBasic(username, "password")))
+				.andExpect(status().isOk());
+	}
+
+	private String password(String username) {
+		return this.users.findByUsername(username).get().password;
+	}
+}
@@ -0,0 +1,89 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={ "resolutions.cors.enabled=true", "resolutions.token-exchange.enabled=true" })
+public class PreflightCorsFilterTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	MeterRegistry meters;
+
+	@Test
+	public void preflightWhenAllowedOriginThenAnsweredWithoutAuthentication() throws Exception {
+		long before = count("allowed");
+
+		this.mvc.perform(options("/resolutions")
+				.header("Origin", "http://localhost:4000")
+				.header("Access-Control-Request-Method", "GET")
+				.header("Access-Control-Request-Headers", "Authorization"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4000"))
+				.andExpect(header().string("Access-Control-Allow-Credentials", "true"))
+				.andExpect(header().string("Access-Control-Max-Age", "86400"));
+
+		assertEquals(before + 1, count("allowed"));
+	}
+
+	@Test
+	public void preflightWhenOtherOriginThenRejected() throws Exception {
+		long before = count("rejected");
+
+		this.mvc.perform(options("/resolutions")
+				.header("Origin", "http://localhost:5000")
+				.header("Access-Control-Request-Method", "GET"))
+				.andExpect(status().isForbidden());
+
+		assertEquals(before + 1, count("rejected"));
+	}
+
+	@Test
+	public void getWhenAllowedOriginThenCorsHeaders() throws Exception {
+		this.mvc.perform(get("/resolutions")
+				.header("Origin", "http://localhost:4000")
+				.with(httpBasic("user", "password")))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4000"));
+	}
+
+	@Test
+	public void tokenWhenAllowedOriginThenExchangedCrossOrigin() throws Exception {
+		this.mvc.perform(options("/token")
+				.header("Origin", "http://localhost:4000")
+				.header("Access-Control-Request-Method", "POST")
+				.header("Access-Control-Request-Headers", "Authorization"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4000"))
+				.andExpect(header().string("Access-Control-Allow-Credentials", "true"));
+
+		this.mvc.perform(post("/token")
+				.header("Origin", "http://localhost:4000")
+				.with(httpBasic("user", "password")))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4000"))
+				.andExpect(header().string("Access-Control-Allow-Credentials", "true"));
+	}
+
+	private long count(String outcome) {
+		return this.meters.timer("resolutions.cors.preflight", "outcome", outcome).count();
+	}
+}
@@ -0,0 +1,93 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrincipalRateLimiterTests {
+	static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	AtomicLong now = new AtomicLong(1000 * SECOND);
+	RateLimitProperties properties = new RateLimitProperties();
+
+	@Before
+	public void setup() {
+		this.properties.getLimits().get("resolution:write").setPermitsPerSecond(1);
+		this.properties.getLimits().get("resolution:write").setBurst(3);
+	}
+
+	@Test
+	public void tryAcquireWhenBurstSpentThenWaitsForRefill() {
+		PrincipalRateLimiter limiter = limiter();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire("resolution:write", "user"));
+		}
+		assertEquals(SECOND, limiter.tryAcquire("resolution:write", "user"));
+
+		this.now.addAndGet(SECOND / 2);
+		assertEquals(SECOND / 2, limiter.tryAcquire("resolution:write", "user"));
+		this.now.addAndGet(SECOND / 2);
+		assertEquals(0, limiter.tryAcquire("resolution:write", "user"));
+	}
+
+	@Test
+	public void tryAcquireWhenOtherPrincipalThenOwnBucket() {
+		PrincipalRateLimiter limiter = limiter();
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("resolution:write", "user");
+		}
+		assertEquals(0, limiter.tryAcquire("resolution:write", "haswrite"));
+	}
+
+	@Test
+	public void tryAcquireWhenUnknownAuthorityThenUnlimited() {
+		PrincipalRateLimiter limiter = limiter();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(0, limiter.tryAcquire("user:read", "user"));
+		}
+	}
+
+	@Test
+	public void tryAcquireWhenFullThenForgetsRefilledPrincipalsFirst() {
+		this.properties.setMaximumPrincipals(2);
+		PrincipalRateLimiter limiter = limiter();
+		limiter.tryAcquire("resolution:write", "idle");
+		this.now.addAndGet(10 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("resolution:write", "busy");
+		}
+
+		limiter.tryAcquire("resolution:write", "new");
+		assertTrue("Expected the busy principal to still be limited",
+				limiter.tryAcquire("resolution:write", "busy") > 0);
+	}
+
+	@Test
+	public void tryAcquireWhenFullOfBusyPrincipalsThenForgetsOldest() {
+		this.properties.setMaximumPrincipals(10);
+		PrincipalRateLimiter limiter = limiter();
+		for (int principal = 0; principal < 10; principal++) {
+			for (int i = 0; i < 3; i++) {
+				limiter.tryAcquire("resolution:write", "busy" + principal);
+			}
+		}
+
+		assertEquals(0, limiter.tryAcquire("resolution:write", "new"));
+		assertEquals("Expected the oldest principal to be forgotten",
+				0, limiter.tryAcquire("resolution:write", "busy0"));
+		assertTrue("Expected newer principals to still be limited",
+				limiter.tryAcquire("resolution:write", "busy9") > 0);
+	}
+
+	private PrincipalRateLimiter limiter() {
+		PrincipalRateLimiter limiter = new PrincipalRateLimiter(this.properties, new SimpleMeterRegistry());
+		limiter.setNanoTime(this.now::get);
+		return limiter;
+	}
+}
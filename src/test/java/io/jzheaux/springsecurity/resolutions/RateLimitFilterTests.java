@@ -0,0 +1,79 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={
+		"resolutions.rate-limit.enabled=true",
+		"resolutions.rate-limit.limits.[resolution\\:write].permits-per-second=0.01",
+		"resolutions.rate-limit.limits.[resolution\\:write].burst=2" })
+public class RateLimitFilterTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	MeterRegistry meters;
+
+	@Test
+	public void makeWhenOverLimitThenTooManyRequests() throws Exception {
+		double before = rejected("resolution:write");
+
+		for (int i = 0; i < 2; i++) {
+			this.mvc.perform(post("/resolution").content("Learn Spanish").with(csrf()).with(httpBasic("haswrite", "password")))
+					.andExpect(status().isOk());
+		}
+		this.mvc.perform(post("/resolution").content("Learn Spanish").with(csrf()).with(httpBasic("haswrite", "password")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "100"));
+
+		assertEquals(before + 1, rejected("resolution:write"), 0);
+	}
+
+	@Test
+	public void readWhenOtherAuthorityOverLimitThenOk() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			this.mvc.perform(post("/resolution").content("Learn Spanish").with(csrf()).with(httpBasic("user", "password")));
+		}
+		this.mvc.perform(get("/resolutions").with(httpBasic("user", "password")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void makeWhenForbiddenThenNoTokensSpent() throws Exception {
+		double before = rejected("resolution:write");
+
+		for (int i = 0; i < 3; i++) {
+			this.mvc.perform(post("/resolution").content("Learn Spanish").with(csrf()).with(httpBasic("hasread", "password")))
+					.andExpect(status().isForbidden());
+		}
+
+		assertEquals(before, rejected("resolution:write"), 0);
+	}
+
+	@Test
+	public void readWhenUnauthenticatedThenNotLimited() throws Exception {
+		this.mvc.perform(get("/resolutions"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	private double rejected(String authority) {
+		return this.meters.counter("resolutions.rate-limit.rejected", "authority", authority).count();
+	}
+}
@@ -0,0 +1,155 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses two in-memory H2 databases; the replica only ever has the rows that the test inserts into it
+ */
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"resolutions.replica.url=" + ReplicaRoutingTests.REPLICA_URL,
+		"resolutions.replica.stickiness=5s" })
+public class ReplicaRoutingTests {
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+	static final String SCRATCH_URL = "jdbc:h2:mem:routing-scratch;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	MeterRegistry meters;
+
+	ReplicaRoutingDataSource routing;
+
+	@Before
+	public void setup() {
+		this.routing = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) this.dataSource).getTargetDataSource();
+		JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL));
+		replica.execute("CREATE TABLE IF NOT EXISTS resolution " +
+				"(id BINARY(255) PRIMARY KEY, text VARCHAR(255), owner VARCHAR(255), completed BOOLEAN NOT NULL, " +
+				"deleted BOOLEAN DEFAULT FALSE NOT NULL, modified TIMESTAMP)");
+		replica.update("DELETE FROM resolution");
+		replica.update("INSERT INTO resolution (id, text, owner, completed) VALUES (?, ?, ?, ?)",
+				UUID.randomUUID(), "Only on the replica", "user", false);
+	}
+
+	@After
+	public void cleanup() {
+		this.routing.setClock(Clock.systemUTC());
+	}
+
+	@Test
+	public void readWhenNoRecentWriteThenUsesReplica() throws Exception {
+		this.mvc.perform(get("/resolutions").with(httpBasic("hasread", "password")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Only on the replica")))
+				.andExpect(content().string(not(containsString("Read War and Peace"))));
+	}
+
+	@Test
+	public void readWhenRecentWriteThenUsesPrimaryUntilWindowCloses() throws Exception {
+		this.mvc.perform(post("/resolution").content("Learn Spanish")
+				.with(csrf()).with(httpBasic("user", "password")))
+				.andExpect(status().isOk());
+
+		this.mvc.perform(get("/resolutions").with(httpBasic("user", "password")))
+				.andExpect(content().string(containsString("Learn Spanish")))
+				.andExpect(content().string(not(containsString("Only on the replica"))));
+		this.mvc.perform(get("/resolutions").with(httpBasic("hasread", "password")))
+				.andExpect(content().string(containsString("Only on the replica")));
+
+		Instant later = Instant.now().plus(Duration.ofSeconds(10));
+		this.routing.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.mvc.perform(get("/resolutions").with(httpBasic("user", "password")))
+				.andExpect(content().string(containsString("Only on the replica")));
+	}
+
+	@Test
+	public void metricsWhenBothPoolsUsedThenBothRegistered() throws Exception {
+		this.mvc.perform(get("/resolutions").with(httpBasic("hasread", "password")))
+				.andExpect(status().isOk());
+
+		Set<String> pools = this.meters.find("hikaricp.connections").gauges().stream()
+				.map(gauge -> gauge.getId().getTag("pool"))
+				.collect(Collectors.toSet());
+		assertEquals(2, pools.size());
+	}
+
+	@Test
+	public void writeWhenTransactionCommitsWriteThenSticky() {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(new DriverManagerDataSource(SCRATCH_URL),
+				new DriverManagerDataSource(SCRATCH_URL), Duration.ofSeconds(5), 10);
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		PlatformTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE IF NOT EXISTS scratch (x INT)");
+
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+		try {
+			transactions.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM scratch", Integer.class));
+			assertEquals(ReplicaRoutingDataSource.Route.REPLICA, readOnlyRoute(routing, transactionManager));
+
+			transactions.execute(status -> {
+				jdbc.update("INSERT INTO scratch (x) VALUES (1)");
+				status.setRollbackOnly();
+				return null;
+			});
+			assertEquals(ReplicaRoutingDataSource.Route.REPLICA, readOnlyRoute(routing, transactionManager));
+
+			transactions.execute(status -> jdbc.update("INSERT INTO scratch (x) VALUES (1)"));
+			assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, readOnlyRoute(routing, transactionManager));
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private Object readOnlyRoute(ReplicaRoutingDataSource routing, PlatformTransactionManager transactionManager) {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		return readOnly.execute(status -> routing.determineCurrentLookupKey());
+	}
+}
@@ -0,0 +1,110 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={ "resolutions.archive.enabled=true", "resolutions.archive.after=P30D" })
+public class ResolutionArchiverTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	ResolutionRepository resolutions;
+
+	@Autowired
+	ResolutionArchiver archiver;
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	@Test
+	public void deleteThenExcludedFromListing() throws Exception {
+		UUID id = this.resolutions.save(new Resolution("Learn to juggle", "user")).getId();
+
+		this.mvc.perform(delete("/resolution/" + id).with(csrf()).with(httpBasic("user", "password")))
+				.andExpect(status().isOk());
+
+		this.mvc.perform(get("/resolutions").with(httpBasic("user", "password")))
+				.andExpect(content().string(not(containsString("Learn to juggle"))));
+		assertFalse(this.resolutions.findById(id).isPresent());
+		assertEquals(Boolean.TRUE, this.jdbc.queryForObject("SELECT deleted FROM resolution WHERE id = ?", Boolean.class, id));
+	}
+
+	@Test
+	public void archiveWhenOldAndClosedThenMoved() {
+		Resolution old = this.resolutions.save(new Resolution("Paint a portrait", "user"));
+		Resolution recent = this.resolutions.save(new Resolution("Build a treehouse", "user"));
+		Resolution open = this.resolutions.save(new Resolution("Visit Paris", "user"));
+		Timestamp longAgo = Timestamp.from(Instant.now().minus(Duration.ofDays(31)));
+		this.jdbc.update("UPDATE resolution SET completed = true, modified = ? WHERE id = ?", longAgo, old.getId());
+		this.jdbc.update("UPDATE resolution SET completed = true WHERE id = ?", recent.getId());
+		this.jdbc.update("UPDATE resolution SET modified = ? WHERE id = ?", longAgo, open.getId());
+
+		assertTrue(this.archiver.archive() >= 1);
+
+		assertEquals(Integer.valueOf(0), count("resolution", old.getId()));
+		assertEquals(Integer.valueOf(1), count("resolution_archive", old.getId()));
+		assertEquals(Integer.valueOf(1), count("resolution", recent.getId()));
+		assertEquals(Integer.valueOf(1), count("resolution", open.getId()));
+	}
+
+	@Test
+	public void archiveWhenRecentlyRevisedThenKept() throws Exception {
+		Resolution revised = this.resolutions.save(new Resolution("Knit a scarf", "user"));
+		Timestamp longAgo = Timestamp.from(Instant.now().minus(Duration.ofDays(31)));
+		this.jdbc.update("UPDATE resolution SET completed = true, modified = ? WHERE id = ?", longAgo, revised.getId());
+
+		this.mvc.perform(put("/resolution/" + revised.getId() + "/revise").content("Knit a sweater")
+				.with(csrf()).with(httpBasic("user", "password")))
+				.andExpect(status().isOk());
+		this.archiver.archive();
+
+		assertEquals(Integer.valueOf(1), count("resolution", revised.getId()));
+	}
+
+	@Test
+	public void reviseOrCompleteWhenDeletedThenUnchanged() throws Exception {
+		UUID id = this.resolutions.save(new Resolution("Learn the banjo", "user")).getId();
+		this.mvc.perform(delete("/resolution/" + id).with(csrf()).with(httpBasic("user", "password")))
+				.andExpect(status().isOk());
+
+		this.mvc.perform(put("/resolution/" + id + "/revise").content("Learn the fiddle")
+				.with(csrf()).with(httpBasic("user", "password")));
+		this.mvc.perform(put("/resolution/" + id + "/complete")
+				.with(csrf()).with(httpBasic("user", "password")));
+
+		assertEquals("Learn the banjo", this.jdbc.queryForObject("SELECT text FROM resolution WHERE id = ?", String.class, id));
+		assertEquals(Boolean.FALSE, this.jdbc.queryForObject("SELECT completed FROM resolution WHERE id = ?", Boolean.class, id));
+	}
+
+	private Integer count(String table, UUID id) {
+		return this.jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+	}
+}
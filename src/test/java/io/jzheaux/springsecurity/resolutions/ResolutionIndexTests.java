@@ -0,0 +1,177 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResolutionIndexTests {
+	JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:index;DB_CLOSE_DELAY=-1"));
+
+	ResolutionIndex index = new ResolutionIndex(this.jdbc, null);
+
+	@Before
+	public void createTable() {
+		this.jdbc.execute("CREATE TABLE resolution (id UUID PRIMARY KEY, text VARCHAR(255), owner VARCHAR(255), " +
+				"completed BOOLEAN, deleted BOOLEAN DEFAULT FALSE)");
+	}
+
+	@After
+	public void dropTable() {
+		this.jdbc.execute("DROP TABLE resolution");
+	}
+
+	@Test
+	public void searchWhenAllTermsMatchThenFound() {
+		this.index.rebuild();
+		this.index.index(new Resolution("Read War and Peace", "user"));
+		this.index.index(new Resolution("Read Anna Karenina", "user"));
+
+		assertEquals("Read War and Peace", texts(this.index.search("user", "war READ", 0, 10)));
+		assertEquals(2, this.index.search("user", "read", 0, 10).size());
+		assertTrue(this.index.search("user", "read tolstoy", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void searchWhenOtherOwnerThenNotFound() {
+		this.index.rebuild();
+		this.index.index(new Resolution("Read War and Peace", "user"));
+
+		assertTrue(this.index.search("hasread", "war", 0, 10).isEmpty());
+	}
+
+	@Test
+	public void searchWhenRevisedThenOnlyNewTextMatches() {
+		this.index.rebuild();
+		Resolution resolution = new Resolution("Read War and Peace", "user");
+		this.index.index(resolution);
+		this.index.index(new Resolution(resolution.getId(), "Free Solo the Eiffel Tower", "user", false));
+
+		assertTrue(this.index.search("user", "war", 0, 10).isEmpty());
+		assertEquals("Free Solo the Eiffel Tower", texts(this.index.search("user", "eiffel", 0, 10)));
+	}
+
+	@Test
+	public void searchWhenPagedThenPagesDoNotOverlap() {
+		this.index.rebuild();
+		for (int i = 0; i < 25; i++) {
+			this.index.index(new Resolution("Run marathon " + i, "user"));
+		}
+
+		List<Resolution> first = this.index.search("user", "marathon", 0, 10);
+		List<Resolution> third = this.index.search("user", "marathon", 2, 10);
+		assertEquals(10, first.size());
+		assertEquals(5, third.size());
+		assertTrue(first.stream().noneMatch(third::contains));
+	}
+
+	@Test
+	public void searchWhenRevisedConcurrentlyThenOnlyLatestTextMatches() throws Exception {
+		this.index.rebuild();
+		Resolution resolution = new Resolution("word0", "user");
+		this.index.index(resolution);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> revisions = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				String text = "word" + thread;
+				revisions.add(executor.submit(() -> {
+					for (int i = 0; i < 1000; i++) {
+						this.index.index(new Resolution(resolution.getId(), text, "user", false));
+					}
+				}));
+			}
+			for (Future<?> revision : revisions) {
+				revision.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		int matches = 0;
+		for (int thread = 0; thread < 8; thread++) {
+			matches += this.index.search("user", "word" + thread, 0, 10).size();
+		}
+		assertEquals(1, matches);
+	}
+
+	@Test
+	public void rebuildWhenRemovedWhileBuildingThenNotIndexed() {
+		Resolution archived = new Resolution("Read War and Peace", "user");
+		insert(archived);
+		insert(new Resolution("Read Anna Karenina", "user"));
+
+		// the archiver commits after the rebuild's cursor opened, but before the cursor reaches the row
+		this.index.remove(archived.getId());
+		this.index.rebuild();
+
+		assertEquals("Read Anna Karenina", texts(this.index.search("user", "read", 0, 10)));
+	}
+
+	@Test
+	public void searchWhenNotReadyThenSameResultsAsIndex() {
+		for (int i = 0; i < 25; i++) {
+			insert(new Resolution("Run marathon " + i, "user"));
+		}
+		insert(new Resolution("Run marathons", "user"));
+		insert(new Resolution("Run marathon", "hasread"));
+
+		List<List<Resolution>> fallback = new ArrayList<>();
+		for (int page = 0; page < 3; page++) {
+			fallback.add(this.index.search("user", "MARATHON run", page, 10));
+		}
+		this.index.rebuild();
+		assertTrue(this.index.isReady());
+
+		for (int page = 0; page < 3; page++) {
+			assertEquals(ids(fallback.get(page)), ids(this.index.search("user", "MARATHON run", page, 10)));
+		}
+		assertEquals(5, fallback.get(2).size());
+	}
+
+	@Test
+	public void rebuildWhenFailsThenBuiltCompletesExceptionally() {
+		this.jdbc.execute("DROP TABLE resolution");
+		this.jdbc.execute("CREATE TABLE resolution (id UUID PRIMARY KEY)");
+		ResolutionInitializer initializer = new ResolutionInitializer(null, null, null, new SeedProperties());
+		ResolutionIndex index = new ResolutionIndex(this.jdbc, initializer);
+		initializer.getSeeded().complete(null);
+
+		index.rebuildWhenSeeded();
+
+		try {
+			index.getBuilt().join();
+			fail("expected the rebuild to fail");
+		} catch (CompletionException expected) {
+		}
+		assertFalse(index.isReady());
+	}
+
+	private void insert(Resolution resolution) {
+		this.jdbc.update("INSERT INTO resolution (id, text, owner, completed) VALUES (?, ?, ?, ?)",
+				resolution.getId(), resolution.getText(), resolution.getOwner(), resolution.getCompleted());
+	}
+
+	private static List<UUID> ids(List<Resolution> resolutions) {
+		return resolutions.stream().map(Resolution::getId).collect(Collectors.toList());
+	}
+
+	private static String texts(List<Resolution> resolutions) {
+		return resolutions.stream().map(Resolution::getText).collect(Collectors.joining(","));
+	}
+}
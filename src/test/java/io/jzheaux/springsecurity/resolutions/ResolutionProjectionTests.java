@@ -0,0 +1,52 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ResolutionProjectionTests {
+	@Autowired
+	ResolutionRepository resolutions;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Test
+	@Transactional(readOnly=true)
+	public void findAllSummariesWhenInTransactionThenNothingManaged() {
+		List<ResolutionSummary> summaries = this.resolutions.findAllSummaries();
+		assertFalse(summaries.isEmpty());
+		SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+		assertEquals(0, session.getPersistenceContext().getNumberOfManagedEntities());
+	}
+
+	@Test
+	public void findAllSummariesThenMatchesEntities() {
+		Map<Object, Resolution> entities = StreamSupport.stream(this.resolutions.findAll().spliterator(), false)
+				.collect(Collectors.toMap(Resolution::getId, Function.identity()));
+		List<ResolutionSummary> summaries = this.resolutions.findAllSummaries();
+		assertEquals(entities.size(), summaries.size());
+		for (ResolutionSummary summary : summaries) {
+			Resolution entity = entities.get(summary.getId());
+			assertEquals(entity.getText(), summary.getText());
+			assertEquals(entity.getOwner(), summary.getOwner());
+			assertEquals(entity.getCompleted(), summary.getCompleted());
+		}
+	}
+}
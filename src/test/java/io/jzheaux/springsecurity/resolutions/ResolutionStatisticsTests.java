@@ -0,0 +1,74 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest
+public class ResolutionStatisticsTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	ResolutionRepository resolutions;
+
+	@Autowired
+	ResolutionStatistics statistics;
+
+	@Before
+	public void setup() {
+		this.statistics.reconcile();
+	}
+
+	@Test
+	public void statsWhenReconciledThenMatchesTable() throws Exception {
+		long total = this.resolutions.countByOwner("user");
+		long completed = this.resolutions.countByOwnerAndCompletedTrue("user");
+
+		this.mvc.perform(get("/resolutions/stats").with(httpBasic("user", "password")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.owner").value("user"))
+				.andExpect(jsonPath("$.total").value(total))
+				.andExpect(jsonPath("$.completed").value(completed));
+	}
+
+	@Test
+	public void statsWhenMadeAndCompletedThenCountedOnce() throws Exception {
+		ResolutionStatistics.Summary before = this.statistics.summary("user");
+
+		String body = this.mvc.perform(post("/resolution").content("Learn Spanish")
+				.with(csrf()).with(httpBasic("user", "password")))
+				.andReturn().getResponse().getContentAsString();
+		UUID id = UUID.fromString(body.replaceAll(".*\"id\":\"([^\"]+)\".*", "$1"));
+		for (int i = 0; i < 2; i++) {
+			this.mvc.perform(put("/resolution/" + id + "/complete")
+					.with(csrf()).with(httpBasic("user", "password")))
+					.andExpect(status().isOk());
+		}
+
+		ResolutionStatistics.Summary after = this.statistics.summary("user");
+		assertEquals(before.getTotal() + 1, after.getTotal());
+		assertEquals(before.getCompleted() + 1, after.getCompleted());
+		assertEquals(after.getTotal(), this.resolutions.countByOwner("user"));
+		assertEquals(after.getCompleted(), this.resolutions.countByOwnerAndCompletedTrue("user"));
+	}
+}
@@ -0,0 +1,113 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Fails when an endpoint issues more SQL statements than it is budgeted
+ */
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+public class StatementBudgetTests {
+	static final int AUTHENTICATION = 2;
+	static final int READ_ALL = AUTHENTICATION + 1;
+	static final int READ_ONE = AUTHENTICATION + 1;
+	static final int MAKE = AUTHENTICATION + 2;
+	static final int REVISE = AUTHENTICATION + 2;
+	static final int COMPLETE = AUTHENTICATION + 2;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	ResolutionRepository resolutions;
+
+	@Autowired
+	StatementCounter statements;
+
+	@Autowired
+	ResolutionStatistics stats;
+
+	@Autowired
+	ResolutionIndex index;
+
+	UUID id;
+
+	@Before
+	public void setup() throws Exception {
+		// the counts and the search index load in the background once the application is ready
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!(this.stats.isReady() && this.index.isReady())) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Statistics and search index weren't loaded within 10 seconds");
+			}
+			Thread.sleep(10);
+		}
+		this.id = this.resolutions.save(new Resolution("Run a marathon", "user")).getId();
+	}
+
+	@Test
+	public void authentication() throws Exception {
+		assertBudget(AUTHENTICATION, "failed authentication",
+				get("/resolutions").with(httpBasic("user", "wrong")), 401);
+	}
+
+	@Test
+	public void readAll() throws Exception {
+		assertBudget(READ_ALL, "GET /resolutions",
+				get("/resolutions").with(httpBasic("user", "password")), 200);
+	}
+
+	@Test
+	public void readOne() throws Exception {
+		assertBudget(READ_ONE, "GET /resolution/{id}",
+				get("/resolution/" + this.id).with(httpBasic("user", "password")), 200);
+	}
+
+	@Test
+	public void make() throws Exception {
+		assertBudget(MAKE, "POST /resolution",
+				post("/resolution").content("Learn Spanish").with(csrf()).with(httpBasic("user", "password")), 200);
+	}
+
+	@Test
+	public void revise() throws Exception {
+		assertBudget(REVISE, "PUT /resolution/{id}/revise",
+				put("/resolution/" + this.id + "/revise").content("Run two marathons")
+						.with(csrf()).with(httpBasic("user", "password")), 200);
+	}
+
+	@Test
+	public void complete() throws Exception {
+		assertBudget(COMPLETE, "PUT /resolution/{id}/complete",
+				put("/resolution/" + this.id + "/complete").with(csrf()).with(httpBasic("user", "password")), 200);
+	}
+
+	void assertBudget(int budget, String description, RequestBuilder request, int status) throws Exception {
+		this.statements.reset();
+		int actual = this.mvc.perform(request).andReturn().getResponse().getStatus();
+		assertEquals(description + " responded with an unexpected status", status, actual);
+		this.statements.assertAtMost(budget, description);
+	}
+}
@@ -0,0 +1,74 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Records every statement sent through the application's {@link DataSource}.
+ *
+ * Import {@link StatementCounter.Config} to install it.
+ */
+public class StatementCounter implements QueryExecutionListener {
+	private final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+	@Override
+	public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+		this.statements.add(queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+	}
+
+	public void reset() {
+		this.statements.clear();
+	}
+
+	public int count() {
+		return this.statements.size();
+	}
+
+	public void assertAtMost(int budget, String description) {
+		if (count() > budget) {
+			fail(description + " issued " + count() + " statements, but its budget is " + budget + ":\n\t" +
+					String.join("\n\t", this.statements));
+		}
+	}
+
+	@TestConfiguration
+	public static class Config {
+		@Bean
+		static StatementCounter statementCounter() {
+			return new StatementCounter();
+		}
+
+		@Bean
+		static BeanPostProcessor statementCountingDataSource(StatementCounter counter) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource) {
+						return ProxyDataSourceBuilder.create((DataSource) bean)
+								.name(beanName)
+								.listener(counter)
+								.build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package io.jzheaux.springsecurity.resolutions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(properties={
+		"resolutions.token-exchange.enabled=true",
+		"resolutions.token-exchange.secret=an-hmac-secret-that-is-at-least-32-bytes",
+		"resolutions.token-exchange.time-to-live=2m" })
+public class TokenExchangeTests {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	ObjectMapper json;
+
+	@SpyBean
+	UserDetailsService users;
+
+	@Test
+	public void tokenWhenBasicThenIssuesBearerToken() throws Exception {
+		JsonNode response = token("user", "password");
+		assertEquals("Bearer", response.get("token_type").asText());
+		assertEquals(120, response.get("expires_in").asLong());
+	}
+
+	@Test
+	public void requestWhenAccessTokenThenAuthenticatesWithoutLookup() throws Exception {
+		String token = token("user", "password").get("access_token").asText();
+
+		clearInvocations(this.users);
+		this.mvc.perform(get("/resolutions").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		this.mvc.perform(post("/resolution").content("Learn to juggle").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		verify(this.users, never()).loadUserByUsername(anyString());
+	}
+
+	@Test
+	public void requestWhenAccessTokenThenCarriesUserAuthorities() throws Exception {
+		String token = token("hasread", "password").get("access_token").asText();
+
+		this.mvc.perform(get("/resolutions").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		this.mvc.perform(post("/resolution").content("Learn to juggle").header("Authorization", "Bearer " + token))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	public void requestWhenAccessTokenTamperedThenUnauthorized() throws Exception {
+		String token = token("hasread", "password").get("access_token").asText();
+		String[] parts = token.split("\\.");
+		String tampered = parts[0] + "." + token("user", "password").get("access_token").asText().split("\\.")[1] + "." + parts[2];
+
+		this.mvc.perform(get("/resolutions").header("Authorization", "Bearer " + tampered))
+				.andExpect(status().isUnauthorized())
+				.andExpect(header().string("WWW-Authenticate", startsWith("Bearer")));
+	}
+
+	@Test
+	public void tokenWhenAccessTokenThenForbidden() throws Exception {
+		String token = token("user", "password").get("access_token").asText();
+
+		this.mvc.perform(post("/token").header("Authorization", "Bearer " + token))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	public void tokenWhenBadCredentialsThenUnauthorized() throws Exception {
+		this.mvc.perform(post("/token").with(httpBasic("user", "wrong")))
+				.andExpect(status().isUnauthorized());
+	}
+
+	JsonNode token(String username, String password) throws Exception {
+		String body = this.mvc.perform(post("/token").with(httpBasic(username, password)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return this.json.readTree(body);
+	}
+}
@@ -0,0 +1,71 @@
+package io.jzheaux.springsecurity.spa;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc(print=MockMvcPrint.NONE)
+@SpringBootTest(classes=SpaApplication.class)
+public class StaticResourceTests {
+	private static final Pattern JQUERY = Pattern.compile("src=\"(/vendor/jquery/3\\.4\\.1/jquery\\.min-[0-9a-f]{32}\\.js)\"");
+
+	@Autowired
+	MockMvc mvc;
+
+	@Test
+	public void pageWhenRequestedThenLinksAreContentHashedAndRevalidated() throws Exception {
+		String page = this.mvc.perform(get("/basic.html"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache"))
+				.andExpect(header().exists("ETag"))
+				.andReturn().getResponse().getContentAsString();
+
+		assertTrue(page, JQUERY.matcher(page).find());
+	}
+
+	@Test
+	public void vendorScriptWhenHashedThenImmutableAndPrecompressed() throws Exception {
+		String page = this.mvc.perform(get("/basic.html")).andReturn().getResponse().getContentAsString();
+		Matcher jquery = JQUERY.matcher(page);
+		assertTrue(jquery.find());
+
+		this.mvc.perform(get(jquery.group(1)).header("Accept-Encoding", "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+				.andExpect(header().string("Content-Encoding", "gzip"));
+		this.mvc.perform(get(jquery.group(1)).header("Accept-Encoding", "br, gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+				.andExpect(header().string("Content-Encoding", "br"));
+		this.mvc.perform(get(jquery.group(1)))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("jQuery")));
+	}
+
+	@Test
+	public void vendorScriptWhenUnversionedOrMissingThenNotFoundAndNotCached() throws Exception {
+		this.mvc.perform(get("/vendor/jquery/3.4.1/jquery.min.js"))
+				.andExpect(status().isNotFound())
+				.andExpect(header().string("Cache-Control", not(containsString("immutable"))));
+		this.mvc.perform(get("/vendor/jquery/3.4.1/missing-0123456789abcdef0123456789abcdef.js"))
+				.andExpect(status().isNotFound())
+				.andExpect(header().string("Cache-Control", not(containsString("immutable"))));
+	}
+}
@@ -0,0 +1,69 @@
+package io.jzheaux.springsecurity.tomcat;
+
+import io.jzheaux.springsecurity.resolutions.ResolutionsApplication;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes=ResolutionsApplication.class, webEnvironment=SpringBootTest.WebEnvironment.RANDOM_PORT, properties={
+		"resolutions.connector.h2c=true",
+		"resolutions.connector.keep-alive-timeout=15s",
+		"resolutions.connector.max-keep-alive-requests=500",
+		"resolutions.connector.max-concurrent-streams=50" })
+public class ConnectorConfigurationTests {
+	static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+	static final byte[] EMPTY_SETTINGS = { 0, 0, 0, 4, 0, 0, 0, 0, 0 };
+	static final int SETTINGS = 4;
+
+	@Autowired
+	ServletWebServerApplicationContext context;
+
+	@LocalServerPort
+	int port;
+
+	@Test
+	public void connectorWhenPropertiesThenApplied() {
+		Connector connector = ((TomcatWebServer) this.context.getWebServer()).getTomcat().getConnector();
+		AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+		assertEquals(15000, protocol.getKeepAliveTimeout());
+		assertEquals(500, protocol.getMaxKeepAliveRequests());
+
+		UpgradeProtocol[] upgrades = connector.findUpgradeProtocols();
+		assertEquals(1, upgrades.length);
+		Http2Protocol http2 = (Http2Protocol) upgrades[0];
+		assertEquals(15000, http2.getKeepAliveTimeout());
+		assertEquals(50, http2.getMaxConcurrentStreams());
+	}
+
+	@Test
+	public void connectWhenHttp2PriorKnowledgeThenSettings() throws Exception {
+		try (Socket socket = new Socket("localhost", this.port)) {
+			socket.setSoTimeout(5000);
+			OutputStream out = socket.getOutputStream();
+			out.write(PREFACE);
+			out.write(EMPTY_SETTINGS);
+			out.flush();
+
+			byte[] header = new byte[9];
+			new DataInputStream(socket.getInputStream()).readFully(header);
+			assertEquals("Expected the server's first frame to be SETTINGS", SETTINGS, header[3]);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package io.jzheaux.springsecurity.tomcat;
+
+import org.apache.catalina.connector.Connector;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsTests {
+	@Test
+	public void customizeWhenVirtualThreadsAndSupportedThenVirtualThreadPerRequest() throws Exception {
+		assumeTrue(VirtualThreads.isSupported());
+		Connector connector = new Connector();
+		connector.setPort(8080);
+		ConnectorConfiguration.customize(connector, virtualThreads());
+
+		Executor executor = connector.getProtocolHandler().getExecutor();
+		Thread[] thread = new Thread[1];
+		executor.execute(() -> thread[0] = Thread.currentThread());
+		((ExecutorService) executor).shutdown();
+		assertTrue(((ExecutorService) executor).awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread[0]));
+		assertEquals("http-8080-0", thread[0].getName());
+	}
+
+	@Test
+	public void customizeWhenVirtualThreadsAndUnsupportedThenThreadPool() {
+		assumeFalse(VirtualThreads.isSupported());
+		Connector connector = new Connector();
+		ConnectorConfiguration.customize(connector, virtualThreads());
+		assertNull(connector.getProtocolHandler().getExecutor());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void newExecutorWhenUnsupportedThenIllegalState() {
+		assumeFalse(VirtualThreads.isSupported());
+		VirtualThreads.newExecutor("test-");
+	}
+
+	private static ConnectorProperties virtualThreads() {
+		ConnectorProperties properties = new ConnectorProperties();
+		properties.setVirtualThreads(true);
+		return properties;
+	}
+}